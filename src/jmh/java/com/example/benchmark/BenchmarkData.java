@@ -0,0 +1,135 @@
+package com.example.benchmark;
+
+import com.example.dto.UserDTO;
+import com.example.entity.EventCategory;
+import com.example.entity.Events;
+import com.example.entity.Locations;
+import com.example.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark Data
+ * Deterministic synthetic rows shaped like the production tables
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 18, 0);
+
+    private static final String[] FIRST_NAMES = {
+            "aarav", "alice", "ananya", "arjun", "bella", "carlos", "chen", "diya",
+            "emma", "farah", "george", "hana", "ishaan", "jack", "kavya", "liam",
+            "maya", "nikhil", "olivia", "priya", "quinn", "rahul", "sara", "tom",
+            "uma", "victor", "wei", "xavier", "yara", "zoe", "noah", "mia"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "sharma", "smith", "das", "garcia", "khan", "li", "patel", "brown",
+            "nguyen", "iyer", "jones", "kim", "mehta", "lopez", "roy", "wilson"
+    };
+
+    private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "outlook.com", "example.com"};
+
+    private BenchmarkData() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static List<Events> events(int count, int locationCount, int categoryCount) {
+        Random random = new Random(42);
+        List<Events> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Events event = new Events();
+            event.setId((long) i + 1);
+            event.setName("Event " + i);
+            event.setDisplayPicture("https://cdn.example.com/events/" + i + ".jpg");
+            event.setDescription("Live performance number " + i + " with special guests and an extended encore set");
+            event.setHostedFrom(BASE.plusHours(random.nextInt(24 * 365)));
+            event.setHostedTo(event.getHostedFrom().plusHours(3));
+            event.setCreatedAt(BASE);
+            event.setUpdatedAt(BASE);
+            event.setCategoryId((long) random.nextInt(categoryCount) + 1);
+            event.setLocationId((long) random.nextInt(locationCount) + 1);
+            event.setVenue("Venue " + random.nextInt(1000));
+            event.setTicketAmount(BigDecimal.valueOf(500 + random.nextInt(5000), 2));
+            event.setCapacity(100 + random.nextInt(50_000));
+            event.setTicketsBooked(random.nextInt(100));
+            events.add(event);
+        }
+        return events;
+    }
+
+    public static List<Locations> locations(int count) {
+        List<Locations> locations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Locations location = new Locations();
+            location.setId((long) i + 1);
+            location.setCity("City " + i);
+            location.setState("State " + (i % 30));
+            location.setCountry("Country " + (i % 10));
+            location.setPincode(String.valueOf(100000 + i));
+            location.setCreatedAt(BASE);
+            location.setUpdatedAt(BASE);
+            locations.add(location);
+        }
+        return locations;
+    }
+
+    public static List<EventCategory> categories(int count) {
+        List<EventCategory> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            EventCategory category = new EventCategory();
+            category.setId((long) i + 1);
+            category.setName("CATEGORY_" + i);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user_" + i);
+            user.setEmail("user_" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setPhoneNumber("+1-555-" + (1000 + i % 9000));
+            user.setCreatedAt(BASE);
+            user.setUpdatedAt(BASE);
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * Realistic-looking username for row i, e.g. alice.smith1234
+     */
+    public static String username(int i) {
+        return FIRST_NAMES[i % FIRST_NAMES.length] + "."
+                + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]
+                + (i / (FIRST_NAMES.length * LAST_NAMES.length));
+    }
+
+    public static String email(int i) {
+        return username(i) + "@" + DOMAINS[(i / 7) % DOMAINS.length];
+    }
+
+    public static List<UserDTO> userDtos(int count) {
+        List<UserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserDTO user = new UserDTO();
+            user.setUsername("new_user_" + i);
+            user.setEmail("new_user_" + i + "@example.com");
+            user.setFirstName("First" + i);
+            user.setLastName("Last" + i);
+            user.setPhoneNumber("+1-555-" + (1000 + i % 9000));
+            users.add(user);
+        }
+        return users;
+    }
+}
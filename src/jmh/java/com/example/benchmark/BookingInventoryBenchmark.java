@@ -0,0 +1,40 @@
+package com.example.benchmark;
+
+import com.example.inventory.EventInventory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bookings per second against a single hot event with 64 concurrent threads.
+ * stripes=1 is the single shared counter baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class BookingInventoryBenchmark {
+
+    @Param({"1", "16", "64"})
+    private int stripes;
+
+    private EventInventory inventory;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        inventory = new EventInventory(1L, Integer.MAX_VALUE, 0, stripes);
+    }
+
+    @Benchmark
+    public boolean bookOneTicket() {
+        return inventory.tryAcquire(1);
+    }
+
+    @Benchmark
+    public boolean bookFourTickets() {
+        return inventory.tryAcquire(4);
+    }
+}
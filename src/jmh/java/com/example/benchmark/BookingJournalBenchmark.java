@@ -0,0 +1,107 @@
+package com.example.benchmark;
+
+import com.example.journal.SegmentedJournal;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Booking journal write path.
+ * appendDurable is what a booking waits for: append a 28-byte entry and wait
+ * for the group fsync, under 8 threads, as throughput and as a latency
+ * distribution; with fsync=false it is the cost of the mapping and the lock
+ * alone. append leaves out the wait. Crash recovery is covered by
+ * SegmentedJournalCrashTest.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingJournalBenchmark {
+
+    private static final int ENTRY_BYTES = 28;
+    private static final int CRASH_SEGMENT_BYTES = 64 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Journal {
+        @Param({"true", "false"})
+        private boolean fsync;
+
+        private Path directory;
+        private SegmentedJournal journal;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("booking-journal-bench");
+            journal = new SegmentedJournal(directory, 16 * 1024 * 1024, 1, fsync);
+        }
+
+        @Setup(Level.Iteration)
+        public void trim() throws IOException {
+            // Keep the disk footprint to the active segment
+            journal.deleteBefore(journal.getLastSequence());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            long appends = journal.getLastSequence();
+            long syncs = journal.getSyncs();
+            journal.close();
+            deleteDirectory(directory);
+            if (fsync && syncs > 0) {
+                System.out.printf("%n%d appends, %d syncs, %.1f appends per sync%n", appends, syncs, (double) appends / syncs);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Entry {
+        private final byte[] bytes = new byte[ENTRY_BYTES];
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ByteBuffer.wrap(bytes).putLong(42).putLong(7).putInt(2).putLong(System.currentTimeMillis());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(8)
+    public long appendDurableThroughput(Journal state, Entry entry) throws IOException {
+        long sequence = state.journal.append(entry.bytes);
+        state.journal.awaitDurable(sequence);
+        return sequence;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Threads(8)
+    public long appendDurableLatency(Journal state, Entry entry) throws IOException {
+        long sequence = state.journal.append(entry.bytes);
+        state.journal.awaitDurable(sequence);
+        return sequence;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(8)
+    public long append(Journal state, Entry entry) throws IOException {
+        return state.journal.append(entry.bytes);
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
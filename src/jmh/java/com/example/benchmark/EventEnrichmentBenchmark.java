@@ -0,0 +1,68 @@
+package com.example.benchmark;
+
+import com.example.dto.EventsDTO;
+import com.example.entity.EventCategory;
+import com.example.entity.Locations;
+import com.example.util.ApplicationUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Event enrichment as done by EventServiceImpl for the listing endpoints:
+ * entity -> DTO conversion, collecting location/category IDs, building the
+ * lookup maps and stitching names in. Database time is excluded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventEnrichmentBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private List<com.example.entity.Events> events;
+    private List<Locations> locations;
+    private List<EventCategory> categories;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(size, 500, 20);
+        locations = BenchmarkData.locations(500);
+        categories = BenchmarkData.categories(20);
+    }
+
+    @Benchmark
+    public void enrichEvents(Blackhole blackhole) {
+        List<EventsDTO> dtos = events.stream()
+                .map(ApplicationUtils::convertToEventsDTO)
+                .collect(Collectors.toList());
+
+        Set<Long> locationIds = dtos.stream()
+                .map(EventsDTO::getLocationId)
+                .collect(Collectors.toSet());
+        Set<Long> categoryIds = dtos.stream()
+                .map(EventsDTO::getCategoryId)
+                .collect(Collectors.toSet());
+
+        // Stand-ins for the two IN queries
+        Map<Long, Locations> locationsMap = locations.stream()
+                .filter(location -> locationIds.contains(location.getId()))
+                .collect(Collectors.toMap(Locations::getId, Function.identity()));
+        Map<Long, EventCategory> categoriesMap = categories.stream()
+                .filter(category -> categoryIds.contains(category.getId()))
+                .collect(Collectors.toMap(EventCategory::getId, Function.identity()));
+
+        ApplicationUtils.enrichEventsDTO(dtos, locationsMap, categoriesMap);
+        blackhole.consume(dtos);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.dto.EventsDTO;
+import com.example.service.EventService;
+import com.example.util.ApplicationUtils;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating events one request at a time against the bulk import, on an
+ * embedded PostgreSQL through the application's own services.
+ * Each invocation writes {rows} events: createEvent once per event, as a
+ * client without the import endpoint would; importEvents in batched
+ * inserts; importCsv parses the same rows from CSV first. Rows per second
+ * is rows divided by the score.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class EventImportBenchmark {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2031, 1, 1, 18, 0);
+    private static final String NAME_PREFIX = "Import benchmark ";
+
+    @Param({"1000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private JdbcTemplate jdbcTemplate;
+    private List<EventsDTO> events;
+    private String csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--logging.level.root=WARN");
+        eventService = context.getBean(EventService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        events = new ArrayList<>(rows);
+        StringBuilder document = new StringBuilder("name,description,hostedFrom,hostedTo,venue,ticketAmount,capacity,category,location\n");
+        for (int i = 0; i < rows; i++) {
+            EventsDTO event = new EventsDTO();
+            event.setName(NAME_PREFIX + i);
+            event.setDescription("Live performance number " + i + ", with special guests");
+            event.setHostedFrom(BASE.plusHours(i));
+            event.setHostedTo(BASE.plusHours(i + 3));
+            event.setVenue("Venue " + i % 100);
+            event.setTicketAmount(BigDecimal.valueOf(500 + i % 5000, 2));
+            event.setCapacity(100 + i);
+            event.setCategory("MUSIC");
+            event.setLocation("Pune");
+            events.add(event);
+            document.append(event.getName()).append(",\"").append(event.getDescription()).append("\",")
+                    .append(event.getHostedFrom()).append(',').append(event.getHostedTo()).append(',')
+                    .append(event.getVenue()).append(',').append(event.getTicketAmount()).append(',')
+                    .append(event.getCapacity()).append(",MUSIC,Pune\n");
+        }
+        csv = document.toString();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteImported() {
+        jdbcTemplate.update("DELETE FROM events WHERE name LIKE ?", NAME_PREFIX + "%");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int createEvent() {
+        int created = 0;
+        for (EventsDTO event : events) {
+            eventService.createEvent(event);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public Object importEvents() {
+        return eventService.importEvents(events);
+    }
+
+    @Benchmark
+    public Object importCsv() {
+        return eventService.importEvents(ApplicationUtils.parseEventsCsv(csv));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmark;
+
+import com.example.entity.Events;
+import com.example.index.EventIntervalIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventIntervalIndex overlap queries over a synthetic year of events,
+ * for a two-hour slot, a weekend, a quarter and a window with no events
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EventIntervalBenchmark {
+
+    private static final LocalDateTime SATURDAY = LocalDateTime.of(2025, 6, 14, 0, 0);
+
+    @Param({"100000", "1000000"})
+    public int eventCount;
+
+    @Param({"20", "100"})
+    public int limit;
+
+    private EventIntervalIndex intervalIndex;
+
+    @Setup
+    public void setUp() {
+        List<Events> events = BenchmarkData.events(eventCount, 500, 10);
+        intervalIndex = new EventIntervalIndex(new ReplayJdbcTemplate(events),
+                new TransactionTemplate(new ReplayJdbcTemplate.NoOpTransactionManager()), 7, 5000);
+        intervalIndex.rebuild();
+    }
+
+    @Benchmark
+    public long[] twoHours() {
+        return intervalIndex.findOverlapping(SATURDAY.plusHours(19), SATURDAY.plusHours(21), limit);
+    }
+
+    @Benchmark
+    public long[] weekend() {
+        return intervalIndex.findOverlapping(SATURDAY, SATURDAY.plusDays(2), limit);
+    }
+
+    @Benchmark
+    public long[] quarter() {
+        return intervalIndex.findOverlapping(SATURDAY, SATURDAY.plusDays(90), limit);
+    }
+
+    @Benchmark
+    public long[] emptyWindow() {
+        return intervalIndex.findOverlapping(SATURDAY.plusYears(5), SATURDAY.plusYears(6), limit);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.dto.EventsDTO;
+import com.example.entity.EventCategory;
+import com.example.entity.Locations;
+import com.example.service.EventService;
+import com.example.service.LocationService;
+import com.example.util.ApplicationUtils;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The enriched event listing, on an embedded PostgreSQL holding {rows}
+ * active events. threeQueries is the listing as it was: load every Events
+ * entity, convert it, then look up locations and categories by ID and
+ * stitch the names in. projection is getAllEventsWithDetails, one joined
+ * query straight into EventsDTOs.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EventListingBenchmark {
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private LocationService locationService;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--logging.level.root=WARN");
+        eventService = context.getBean(EventService.class);
+        locationService = context.getBean(LocationService.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        context.getBean(JdbcTemplate.class).update("INSERT INTO events (name, description, hosted_from, hosted_to, "
+                        + "created_at, updated_at, category_id, location_id, venue, ticket_amount, status, capacity, tickets_booked) "
+                        + "SELECT 'Listing benchmark ' || n, 'Live performance number ' || n || ' with special guests', "
+                        + "timestamp '2031-01-01 18:00' + n * interval '1 hour', "
+                        + "timestamp '2031-01-01 21:00' + n * interval '1 hour', now(), now(), "
+                        + "c.id, l.id, 'Venue ' || n % 100, 25.00, 1, 500, 0 "
+                        + "FROM generate_series(1, ?) AS n "
+                        + "JOIN event_category c ON c.name = CASE WHEN n % 2 = 0 THEN 'MUSIC' ELSE 'SPORTS' END "
+                        + "JOIN locations l ON l.city = 'Pune'",
+                rows);
+        context.getBean(JdbcTemplate.class).execute("ANALYZE events");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<EventsDTO> threeQueries() {
+        return readOnly.execute(status -> {
+            List<EventsDTO> events = eventService.getEvents();
+            Set<Long> locationIds = events.stream().map(EventsDTO::getLocationId).collect(Collectors.toSet());
+            Set<Long> categoryIds = events.stream().map(EventsDTO::getCategoryId).collect(Collectors.toSet());
+            Map<Long, Locations> locations = locationService.getLocationsById(locationIds);
+            Map<Long, EventCategory> categories = eventService.getEventCategoryById(categoryIds);
+            ApplicationUtils.enrichEventsDTO(events, locations, categories);
+            return events;
+        });
+    }
+
+    @Benchmark
+    public List<EventsDTO> projection() {
+        return eventService.getAllEventsWithDetails().data();
+    }
+}
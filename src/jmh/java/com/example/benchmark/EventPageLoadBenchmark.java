@@ -0,0 +1,104 @@
+package com.example.benchmark;
+
+import com.example.Application;
+import com.example.dto.EventsDTO;
+import com.example.service.EventService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load on GET /api/events?size=50 over HTTP, thread-per-request against
+ * virtual threads. The whole application runs on an embedded PostgreSQL
+ * holding 10k events; every JMH thread is one client sending requests back
+ * to back, so run it at several -t to find where throughput stops growing
+ * and p99 takes off. Only thread-per-request runs by default, as the
+ * project builds on Java 17; on a Java 21+ runtime add the virtual thread
+ * side with -p virtualThreads=false,true.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class EventPageLoadBenchmark {
+
+    private static final int EVENTS = 10_000;
+
+    @Param({"false"})
+    private boolean virtualThreads;
+
+    @Param({"200"})
+    private int tomcatThreads;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21+, this is " + Runtime.version());
+        }
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true",
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=" + tomcatThreads,
+                        "--logging.level.root=WARN");
+
+        List<EventsDTO> events = new ArrayList<>(EVENTS);
+        LocalDateTime base = LocalDateTime.of(2031, 1, 1, 18, 0);
+        for (int i = 0; i < EVENTS; i++) {
+            EventsDTO event = new EventsDTO();
+            event.setName("Load event " + i);
+            event.setDescription("Live performance number " + i);
+            event.setHostedFrom(base.plusHours(i));
+            event.setHostedTo(base.plusHours(i + 3));
+            event.setVenue("Venue " + i % 100);
+            event.setTicketAmount(BigDecimal.valueOf(500 + i % 5000, 2));
+            event.setCapacity(100 + i);
+            event.setCategory(i % 2 == 0 ? "MUSIC" : "SPORTS");
+            event.setLocation("Pune");
+            events.add(event);
+        }
+        context.getBean(EventService.class).importEvents(events);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events?size=50")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public int getEventsPage() throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /events answered " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.benchmark;
+
+import com.example.entity.Events;
+import com.example.index.EventPostingsIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * City AND category filtering: EventPostingsIndex intersection against
+ * filtering the full event list in Java, the way the catalog used to be filtered.
+ * Run with -prof gc to compare gc.alloc.rate.norm (bytes per query).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EventPostingsBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int eventCount;
+
+    private List<Events> events;
+    private EventPostingsIndex postingsIndex;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(eventCount, 500, 10);
+        postingsIndex = new EventPostingsIndex(new ReplayJdbcTemplate(events),
+                new TransactionTemplate(new ReplayJdbcTemplate.NoOpTransactionManager()), 5000);
+        postingsIndex.rebuild();
+    }
+
+    @Benchmark
+    public long[] postingsCityAndCategory() {
+        return postingsIndex.find(7L, 3L, null, 100);
+    }
+
+    @Benchmark
+    public long[] postingsCityAndCategoryAllMatches() {
+        return postingsIndex.find(7L, 3L, null, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public long[] postingsCityPage() {
+        return postingsIndex.find(7L, null, 1000L, 100);
+    }
+
+    @Benchmark
+    public Set<Long> boxedCityAndCategory() {
+        return events.stream()
+                .filter(event -> event.getStatus() == 1)
+                .filter(event -> event.getLocationId().equals(7L))
+                .filter(event -> event.getCategoryId().equals(3L))
+                .map(Events::getId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.benchmark;
+
+import com.example.entity.Events;
+import com.example.index.EventSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventSearchIndex query latency over a synthetic catalog.
+ * The index is loaded through its normal rebuild path from a JdbcTemplate
+ * stub that replays generated rows instead of reading the events table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class EventSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int eventCount;
+
+    private EventSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        List<Events> events = BenchmarkData.events(eventCount, 500, 10);
+        searchIndex = new EventSearchIndex(new ReplayJdbcTemplate(events),
+                new TransactionTemplate(new ReplayJdbcTemplate.NoOpTransactionManager()), 256, 5000);
+        searchIndex.rebuild();
+    }
+
+    @Benchmark
+    public long[] commonPrefix() {
+        return searchIndex.search("liv", 20);
+    }
+
+    @Benchmark
+    public long[] rareWord() {
+        return searchIndex.search("event 77777", 20);
+    }
+
+    @Benchmark
+    public long[] commonWordsWithPrefix() {
+        return searchIndex.search("special guests enc", 20);
+    }
+
+    @Benchmark
+    public long[] commonWordsWithShortPrefix() {
+        return searchIndex.search("special guests 1", 20);
+    }
+
+    @Benchmark
+    public long[] noMatch() {
+        return searchIndex.search("opera zzz", 20);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmark;
+
+import com.example.dto.EventsDTO;
+import com.example.dto.UserDTO;
+import com.example.entity.Events;
+import com.example.entity.User;
+import com.example.util.ApplicationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTO/entity converters in ApplicationUtils
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private List<Events> events;
+    private List<User> users;
+    private List<UserDTO> userDtos;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkData.events(size, 500, 20);
+        users = BenchmarkData.users(size);
+        userDtos = BenchmarkData.userDtos(size);
+    }
+
+    @Benchmark
+    public List<EventsDTO> convertToEventsDTO() {
+        List<EventsDTO> result = new ArrayList<>(events.size());
+        for (Events event : events) {
+            result.add(ApplicationUtils.convertToEventsDTO(event));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserDTO> convertToDto() {
+        List<UserDTO> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            result.add(ApplicationUtils.convertToDto(user));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<User> convertToEntity() {
+        List<User> result = new ArrayList<>(userDtos.size());
+        for (UserDTO userDto : userDtos) {
+            result.add(ApplicationUtils.convertToEntity(userDto));
+        }
+        return result;
+    }
+}
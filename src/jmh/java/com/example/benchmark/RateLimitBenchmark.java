@@ -0,0 +1,133 @@
+package com.example.benchmark;
+
+import com.example.ratelimit.RateLimitFilter;
+import com.example.ratelimit.SlidingWindowLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Overhead of the rate limit filter under 8 threads (change with -t).
+ * unfiltered and filtered run the same mock GET /api/events/{id} through an
+ * empty chain without and with the filter, from 1024 clients per thread;
+ * the difference is what the filter adds to every request. The limiter
+ * benchmarks isolate its counters: every thread on one client (one contended
+ * CAS), 100k clients at random, and an endless stream of new clients through
+ * a limiter capped at 64k, so nearly every call evicts.
+ * Limits are high enough that no request is rejected.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RateLimitBenchmark {
+
+    private static final int CLIENTS = 100_000;
+    private static final int CHURN_KEYS = 1 << 20;
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+    private SlidingWindowLimiter hotLimiter;
+    private SlidingWindowLimiter spreadLimiter;
+    private SlidingWindowLimiter churnLimiter;
+    private String[] clients;
+    private String[] churnKeys;
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "rate-limit.routes[0]", "POST /** 60/60",
+                "rate-limit.routes[1]", "GET /events/** 1000000/1",
+                "rate-limit.routes[2]", "* /** 600/60")));
+        filter = new RateLimitFilter(environment, new ObjectMapper(), new SimpleMeterRegistry(), "X-API-Key", 100_000, 64, 4);
+
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        hotLimiter = new SlidingWindowLimiter(SlidingWindowLimiter.MAX_LIMIT, windowNanos, 1, 1, System::nanoTime);
+        spreadLimiter = new SlidingWindowLimiter(SlidingWindowLimiter.MAX_LIMIT, TimeUnit.SECONDS.toNanos(1), 2 * CLIENTS, 64, System::nanoTime);
+        churnLimiter = new SlidingWindowLimiter(SlidingWindowLimiter.MAX_LIMIT, windowNanos, 1 << 16, 64, System::nanoTime);
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "10.0." + (i >> 8) + "." + (i & 0xff);
+        }
+        churnKeys = new String[CHURN_KEYS];
+        for (int i = 0; i < CHURN_KEYS; i++) {
+            churnKeys[i] = "key-" + i;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        private static final int PER_THREAD = 1024;
+
+        private MockHttpServletRequest[] requests;
+        private MockHttpServletResponse response;
+        private int next;
+        private int churnNext;
+
+        @Setup(Level.Trial)
+        public void setUp(RateLimitBenchmark benchmark) {
+            int thread = benchmark.threads.getAndIncrement();
+            requests = new MockHttpServletRequest[PER_THREAD];
+            for (int i = 0; i < PER_THREAD; i++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/" + i);
+                request.setContextPath("/api");
+                request.setRemoteAddr("192.168." + thread + "." + (i & 0xff) + "-" + i);
+                requests[i] = request;
+            }
+            response = new MockHttpServletResponse();
+            churnNext = ThreadLocalRandom.current().nextInt(CHURN_KEYS);
+        }
+
+        private MockHttpServletRequest next() {
+            return requests[next++ & (PER_THREAD - 1)];
+        }
+    }
+
+    @Benchmark
+    public void unfiltered(Requests requests) throws Exception {
+        EMPTY_CHAIN.doFilter(requests.next(), requests.response);
+    }
+
+    @Benchmark
+    public int filtered(Requests requests) throws Exception {
+        filter.doFilter(requests.next(), requests.response, EMPTY_CHAIN);
+        return requests.response.getStatus();
+    }
+
+    @Benchmark
+    public long limiterHotClient() {
+        return hotLimiter.tryAcquire("10.0.0.1");
+    }
+
+    @Benchmark
+    public long limiterSpread() {
+        return spreadLimiter.tryAcquire(clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    public long limiterChurn(Requests requests) {
+        return churnLimiter.tryAcquire(churnKeys[requests.churnNext++ & (CHURN_KEYS - 1)]);
+    }
+
+    @TearDown(Level.Trial)
+    public void check() {
+        if (churnLimiter.size() > (1 << 16) + 64) {
+            throw new IllegalStateException("Churn limiter grew to " + churnLimiter.size() + " clients");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.benchmark;
+
+import com.example.entity.Events;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Replay JdbcTemplate
+ * Feeds synthetic rows to a row callback as if they came from a table,
+ * so the in-memory indexes can be loaded through their normal rebuild path
+ */
+public class ReplayJdbcTemplate extends JdbcTemplate {
+
+    private final int rowCount;
+    private final BiFunction<Integer, String, Object> columns;
+
+    /**
+     * Replay events as rows of the events table
+     */
+    public ReplayJdbcTemplate(List<Events> events) {
+        this(events.size(), (row, column) -> column(events.get(row), column));
+    }
+
+    /**
+     * Replay generated rows without holding them all in memory
+     * @param rowCount number of rows
+     * @param columns value of a column for a row number
+     */
+    public ReplayJdbcTemplate(int rowCount, BiFunction<Integer, String, Object> columns) {
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+
+    @Override
+    public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+        int[] row = {-1};
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> columns.apply(row[0], (String) args[0]));
+        try {
+            for (row[0] = 0; row[0] < rowCount; row[0]++) {
+                handler.processRow(resultSet);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object column(Events event, String column) {
+        switch (column) {
+            case "id":
+                return event.getId();
+            case "name":
+                return event.getName();
+            case "venue":
+                return event.getVenue();
+            case "description":
+                return event.getDescription();
+            case "hosted_from":
+                return Timestamp.valueOf(event.getHostedFrom());
+            case "hosted_to":
+                return Timestamp.valueOf(event.getHostedTo());
+            case "location_id":
+                return event.getLocationId();
+            case "category_id":
+                return event.getCategoryId();
+            default:
+                throw new UnsupportedOperationException(column);
+        }
+    }
+
+    /**
+     * Transaction manager that does nothing, for TransactionTemplate callers
+     */
+    public static final class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
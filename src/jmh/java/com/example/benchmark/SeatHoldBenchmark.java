@@ -0,0 +1,122 @@
+package com.example.benchmark;
+
+import com.example.dao.impl.SeatHoldDaoImpl;
+import com.example.inventory.EventInventory;
+import com.example.inventory.InventoryManager;
+import com.example.inventory.SeatHold;
+import com.example.inventory.SeatHoldManager;
+import com.example.inventory.TimingWheel;
+import com.example.journal.BookingJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat hold churn. The wheel benchmarks run on a virtual clock that moves
+ * 1 ms every 50 holds, i.e. 50k holds/sec, with ttlSeconds worth of holds
+ * open at any time (100k or 1M). holdAndRelease is the full manager path:
+ * inventory, random hold ID, wheel and write-behind queues (DB writes stubbed).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SeatHoldBenchmark {
+
+    private static final int HOLDS_PER_MILLI = 50;
+
+    @State(Scope.Thread)
+    public static class Wheel {
+        @Param({"2", "20"})
+        private int ttlSeconds;
+
+        private TimingWheel<SeatHold> wheel;
+        private SeatHold hold;
+        private long now;
+        private long ttlMillis;
+        private int sinceTick;
+        private long expired;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            ttlMillis = ttlSeconds * 1000L;
+            now = 1_700_000_000_000L;
+            wheel = new TimingWheel<>(100, 256, now);
+            hold = new SeatHold(UUID.randomUUID(), 1L, 1L, 1, 0);
+            // Fill the wheel to its steady state
+            for (long i = 0; i < ttlMillis * HOLDS_PER_MILLI; i++) {
+                schedule();
+            }
+        }
+
+        private TimingWheel.Timeout<SeatHold> schedule() {
+            TimingWheel.Timeout<SeatHold> timeout = wheel.schedule(hold, now + ttlMillis);
+            if (++sinceTick == HOLDS_PER_MILLI) {
+                sinceTick = 0;
+                now++;
+                expired += wheel.advance(now, item -> { });
+            }
+            return timeout;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Manager {
+        private SeatHoldManager manager;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            EventInventory inventory = new EventInventory(1L, Integer.MAX_VALUE, 0, 64);
+            BookingJournal journal = new BookingJournal(null, null, null, false, "bookings", "", 0, false, 0);
+            InventoryManager inventoryManager = new InventoryManager(null, journal, 64) {
+                @Override
+                public EventInventory getInventory(Long eventId) {
+                    return inventory;
+                }
+            };
+            SeatHoldDaoImpl seatHoldDao = new SeatHoldDaoImpl(null) {
+                @Override
+                public void insertHolds(List<SeatHold> holds) {
+                }
+
+                @Override
+                public void deleteHolds(List<UUID> ids) {
+                }
+            };
+            manager = new SeatHoldManager(inventoryManager, seatHoldDao, new SimpleMeterRegistry(),
+                    600, 100, 256, 1000);
+        }
+
+        @TearDown(Level.Iteration)
+        public void flush() {
+            manager.flush();
+        }
+    }
+
+    /**
+     * Open a hold that later expires, at steady state
+     */
+    @Benchmark
+    public TimingWheel.Timeout<SeatHold> holdThenExpire(Wheel state) {
+        return state.schedule();
+    }
+
+    /**
+     * Open a hold and cancel it right away, at steady state
+     */
+    @Benchmark
+    public boolean holdThenCancel(Wheel state) {
+        return state.wheel.cancel(state.schedule());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public SeatHold holdAndRelease(Manager state) {
+        SeatHold hold = state.manager.hold(1L, 1L, 2);
+        return state.manager.release(hold.getId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.benchmark;
+
+import com.example.entity.User;
+import com.example.index.UserPrefixIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserPrefixIndex autocomplete latency over a synthetic user base.
+ * Usernames look like alice.smith1234, so short prefixes match millions of
+ * users and longer ones narrow down to a handful, as in the admin user picker.
+ * Some signups are added after the load so lookups also merge pending changes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserAutocompleteBenchmark {
+
+    @Param({"1000000", "5000000"})
+    public int userCount;
+
+    private UserPrefixIndex prefixIndex;
+
+    @Setup
+    public void setUp() {
+        prefixIndex = new UserPrefixIndex(new ReplayJdbcTemplate(userCount, (row, column) -> {
+            switch (column) {
+                case "id":
+                    return (long) row + 1;
+                case "username":
+                    return BenchmarkData.username(row);
+                case "email":
+                    return BenchmarkData.email(row);
+                default:
+                    throw new UnsupportedOperationException(column);
+            }
+        }), new TransactionTemplate(new ReplayJdbcTemplate.NoOpTransactionManager()), 4096, 5000);
+        prefixIndex.rebuild();
+
+        for (int i = 0; i < 2000; i++) {
+            User user = new User();
+            user.setId((long) userCount + i + 1);
+            user.setUsername(BenchmarkData.username(userCount + i));
+            user.setEmail(BenchmarkData.email(userCount + i));
+            prefixIndex.add(user);
+        }
+    }
+
+    @Benchmark
+    public long[] singleLetter() {
+        return prefixIndex.search("a", 10);
+    }
+
+    @Benchmark
+    public long[] fullName() {
+        return prefixIndex.search("Priya.Patel", 10);
+    }
+
+    @Benchmark
+    public long[] nearlyUnique() {
+        return prefixIndex.search("priya.patel123", 10);
+    }
+
+    @Benchmark
+    public long[] emailOnly() {
+        return prefixIndex.search("priya.patel1234@gm", 10);
+    }
+
+    @Benchmark
+    public long[] noMatch() {
+        return prefixIndex.search("zzz", 10);
+    }
+}
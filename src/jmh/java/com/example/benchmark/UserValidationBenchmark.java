@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import com.example.dao.UserRepository;
+import com.example.dto.UserDTO;
+import com.example.index.UserExistenceFilter;
+import com.example.validation.impl.UserValidationImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserValidationImpl field and uniqueness checks against a repository stub
+ * that reports nothing as taken, so only validation cost is measured.
+ * The existence filter is loaded with existing users, so the "withDatabase"
+ * cases measure the fall-through path for names that might be taken.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserValidationBenchmark {
+
+    private UserValidationImpl userValidation;
+    private UserDTO userDto;
+    private UserDTO existingUserDto;
+    private List<UserDTO> batch;
+
+    @Setup
+    public void setUp() {
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == boolean.class) {
+                        return false;
+                    }
+                    if (type == List.class) {
+                        return Collections.emptyList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        JdbcTemplate existingUsers = new ReplayJdbcTemplate(10_000, (row, column) -> {
+            switch (column) {
+                case "username":
+                    return BenchmarkData.username(row);
+                case "email":
+                    return BenchmarkData.email(row);
+                default:
+                    throw new UnsupportedOperationException(column);
+            }
+        }) {
+            @Override
+            public <T> T queryForObject(String sql, Class<T> requiredType) {
+                return requiredType.cast(10_000L);
+            }
+        };
+        UserExistenceFilter existenceFilter = new UserExistenceFilter(existingUsers,
+                new TransactionTemplate(new ReplayJdbcTemplate.NoOpTransactionManager()),
+                new SimpleMeterRegistry(), 100_000, 0.01, 5000);
+        existenceFilter.rebuild();
+
+        userValidation = new UserValidationImpl(repository, existenceFilter);
+        userDto = BenchmarkData.userDtos(1).get(0);
+        existingUserDto = BenchmarkData.userDtos(1).get(0);
+        existingUserDto.setUsername(BenchmarkData.username(42));
+        existingUserDto.setEmail(BenchmarkData.email(42));
+        batch = BenchmarkData.userDtos(1000);
+    }
+
+    @Benchmark
+    public UserDTO validateForCreate() {
+        userValidation.validateForCreate(userDto);
+        return userDto;
+    }
+
+    @Benchmark
+    public UserDTO validateForCreateWithDatabase() {
+        userValidation.validateForCreate(existingUserDto);
+        return existingUserDto;
+    }
+
+    @Benchmark
+    public Map<Integer, String> validateForBatchCreate() {
+        return userValidation.validateForBatchCreate(batch);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.benchmark;
+
+import com.example.dto.WaitingRoomDTO;
+import com.example.waitingroom.WaitingRoomManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waiting room with 100k queued clients.
+ * pollStatus is the status endpoint's work under 8 threads. The on-sale
+ * simulation on a virtual clock is WaitingRoomSimulationTest.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class WaitingRoomBenchmark {
+
+    private static final int CLIENTS = 100_000;
+    private static final double RATE_PER_SECOND = 2_000;
+    private static final long BURST = 100;
+
+    private WaitingRoomManager manager;
+    private String[] queueTokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        manager = new WaitingRoomManager(new SimpleMeterRegistry(), "benchmark-secret", RATE_PER_SECOND, BURST, 7200, 600);
+        manager.open(1L, 1.0, 1L);
+        queueTokens = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            queueTokens[i] = manager.join(1L).getQueueToken();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Threads(8)
+    public WaitingRoomDTO pollStatus() {
+        return manager.getStatus(1L, queueTokens[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+}
@@ -2,12 +2,15 @@ package com.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
 /**
  * Main Spring Boot Application class
  * This is the entry point for the application
+ * R2DBC is wired by hand for the reactive read API only; letting Boot create a
+ * ConnectionFactory bean would make it skip the JDBC DataSource
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class Application {
 
     public static void main(String[] args) {
@@ -15,6 +15,19 @@ public class ApplicationConstants {
     public static final String USER_ENDPOINT = "/users";
     public static final String EVENTS_ENDPOINT = "/events";
     public static final String LOCATION_ENDPOINT = "/locations";
+    public static final String BOOKING_ENDPOINT = "/bookings";
+    public static final String WAITING_ROOM_ENDPOINT = "/waiting-room";
+
+    // Headers
+    public static final String ADMISSION_TOKEN_HEADER = "X-Admission-Token";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Pagination
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Export
+    public static final String EXPORT_FETCH_SIZE = "1000";
 
     // Error Messages
     public static final String USER_NOT_FOUND = "User not found with id: ";
@@ -22,6 +35,15 @@ public class ApplicationConstants {
     public static final String USER_ALREADY_EXISTS = "User already exists with username: ";
     public static final String EMAIL_ALREADY_EXISTS = "User already exists with email: ";
     public static final String INVALID_USER_DATA = "Invalid user data provided";
+    public static final String NOT_ENOUGH_TICKETS = "Not enough tickets left for event: ";
+    public static final String HOLD_NOT_FOUND = "Hold not found or expired: ";
+    public static final String WAITING_ROOM_NOT_FOUND = "No waiting room open for event: ";
+    public static final String ADMISSION_REQUIRED = "Admission from the waiting room is required for event: ";
+    public static final String TOO_MANY_REQUESTS = "Too many requests, retry after ";
+    public static final String IDEMPOTENCY_KEY_TOO_LONG = "Idempotency-Key must not exceed 255 characters";
+    public static final String IDEMPOTENCY_KEY_IN_PROGRESS = "A request with this Idempotency-Key is still being processed";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used for a different request";
+    public static final String BOOKING_NOT_RECORDED = "Bookings are temporarily unavailable; a booking interrupted by this may still have been recorded";
 
     // Validation Messages
     public static final String USERNAME_REQUIRED = "Username is required";
@@ -37,5 +59,8 @@ public class ApplicationConstants {
     public static final String CREATED = "Created successfully";
     public static final String UPDATED = "Updated successfully";
     public static final String DELETED = "Deleted successfully";
+    public static final String BOOKED = "Tickets booked successfully";
+    public static final String HELD = "Tickets held successfully";
+    public static final String RELEASED = "Hold released successfully";
 }
 
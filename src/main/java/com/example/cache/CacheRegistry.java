@@ -0,0 +1,79 @@
+package com.example.cache;
+
+import com.example.dto.CacheStatsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cache Registry
+ * Creates the reference data caches and keeps track of them for stats and invalidation.
+ * Hit/miss/eviction counters are also published as cache.reference.* meters.
+ */
+@Component
+public class CacheRegistry {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxSize;
+    private final long ttlSeconds;
+    private final List<ReferenceCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public CacheRegistry(MeterRegistry meterRegistry,
+                         @Value("${cache.reference.max-size:1000}") int maxSize,
+                         @Value("${cache.reference.ttl-seconds:300}") long ttlSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.maxSize = maxSize;
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    /**
+     * Create and register a new reference cache
+     * @param name the cache name, used in stats
+     * @return the new cache
+     */
+    public <K, V> ReferenceCache<K, V> create(String name) {
+        return create(name, maxSize, ttlSeconds);
+    }
+
+    /**
+     * Create and register a cache sized apart from the reference data caches
+     * @param name the cache name, used in stats
+     * @param maxSize most entries kept
+     * @param ttlSeconds how long an entry is kept
+     * @return the new cache
+     */
+    public <K, V> ReferenceCache<K, V> create(String name, int maxSize, long ttlSeconds) {
+        ReferenceCache<K, V> cache = new ReferenceCache<>(name, maxSize, ttlSeconds);
+        caches.add(cache);
+        registerMeters(cache);
+        return cache;
+    }
+
+    public List<CacheStatsDTO> getStats() {
+        return caches.stream().map(ReferenceCache::getStats).toList();
+    }
+
+    public void invalidateAll() {
+        caches.forEach(ReferenceCache::invalidateAll);
+    }
+
+    private void registerMeters(ReferenceCache<?, ?> cache) {
+        FunctionCounter.builder("cache.reference.hits", cache, c -> c.getStats().getHits())
+                .tag("cache", cache.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.reference.misses", cache, c -> c.getStats().getMisses())
+                .tag("cache", cache.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.reference.evictions", cache, c -> c.getStats().getEvictions())
+                .tag("cache", cache.getName())
+                .register(meterRegistry);
+        Gauge.builder("cache.reference.size", cache, c -> c.getStats().getSize())
+                .tag("cache", cache.getName())
+                .register(meterRegistry);
+    }
+}
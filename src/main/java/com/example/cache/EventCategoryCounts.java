@@ -0,0 +1,143 @@
+package com.example.cache;
+
+import com.example.dao.EventsRepository;
+import com.example.util.ApplicationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Event Category Counts
+ * In-memory number of events per category, kept up to date as events are
+ * inserted instead of running a COUNT per category on every read.
+ * A scheduled reconciliation against the events table fixes any drift
+ * (rolled back transactions, rows written outside the application).
+ */
+@Component
+public class EventCategoryCounts {
+
+    private static final Logger log = LoggerFactory.getLogger(EventCategoryCounts.class);
+
+    private final EventsRepository eventsRepository;
+    private final Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+    // Bumped whenever any count changes, lets callers tell if cached output is stale
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    @Autowired
+    public EventCategoryCounts(EventsRepository eventsRepository) {
+        this.eventsRepository = eventsRepository;
+    }
+
+    /**
+     * Get the number of events in a category
+     * @param categoryId the category ID
+     * @return number of events
+     */
+    public long get(Long categoryId) {
+        load();
+        AtomicLong count = counts.get(categoryId);
+        return count == null ? 0L : count.get();
+    }
+
+    /**
+     * Current version of the counts
+     * @return a number that changes whenever any count changes
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Count a new event, once the current transaction (if any) commits
+     * @param categoryId the category ID of the new event
+     */
+    public void increment(Long categoryId) {
+        ApplicationUtils.runAfterCommit(() -> {
+            counter(categoryId).incrementAndGet();
+            version.incrementAndGet();
+        });
+    }
+
+    /**
+     * Stop counting an event, once the current transaction (if any) commits
+     * @param categoryId the category ID of the removed event
+     */
+    public void decrement(Long categoryId) {
+        ApplicationUtils.runAfterCommit(() -> {
+            counter(categoryId).decrementAndGet();
+            version.incrementAndGet();
+        });
+    }
+
+    /**
+     * Recount events per category and fix counters that drifted.
+     * A counter that moved while the recount ran is left alone, the next run picks it up.
+     */
+    @Scheduled(fixedDelayString = "${events.category-counts.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<Long, Long> before = new HashMap<>();
+        counts.forEach((categoryId, count) -> before.put(categoryId, count.get()));
+
+        Map<Long, Long> actual = new HashMap<>();
+        for (Object[] row : eventsRepository.countEventsByCategory()) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+
+        Set<Long> categoryIds = new HashSet<>(before.keySet());
+        categoryIds.addAll(actual.keySet());
+
+        int fixed = 0;
+        for (Long categoryId : categoryIds) {
+            long expected = actual.getOrDefault(categoryId, 0L);
+            AtomicLong count = counter(categoryId);
+            if (count.get() != expected
+                    && count.compareAndSet(before.getOrDefault(categoryId, 0L), expected)) {
+                fixed++;
+            }
+        }
+        if (fixed > 0) {
+            version.incrementAndGet();
+        }
+
+        if (loaded && fixed > 0) {
+            log.info("Reconciled {} drifted event category counts", fixed);
+        }
+        loaded = true;
+    }
+
+    /**
+     * Count events per category if that has not been done yet; afterwards
+     * {@link #get} only reads memory
+     */
+    public void load() {
+        if (!loaded) {
+            // A lock rather than a monitor: the first load hits the database and
+            // must not pin a carrier thread when requests run on virtual threads
+            loadLock.lock();
+            try {
+                if (!loaded) {
+                    reconcile();
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+    }
+
+    private AtomicLong counter(Long categoryId) {
+        return counts.computeIfAbsent(categoryId, id -> new AtomicLong());
+    }
+}
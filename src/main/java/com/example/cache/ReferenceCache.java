@@ -0,0 +1,192 @@
+package com.example.cache;
+
+import com.example.dto.CacheStatsDTO;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Reference Cache
+ * Bounded read-through cache with a TTL, meant for small, rarely changing
+ * reference tables (locations, event categories).
+ * Null results are not cached, so rows added later are still found.
+ */
+public class ReferenceCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so loads that raced with it are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReferenceCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get a value, loading it on a miss
+     * @param key the cache key
+     * @param loader loads the value from the database, may return null
+     * @return the cached or loaded value
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isLive(now)) {
+            hits.increment();
+            return entry.value;
+        }
+
+        misses.increment();
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+        if (value != null) {
+            put(key, value, now, loadGeneration);
+        }
+        return value;
+    }
+
+    /**
+     * Get several values, loading all misses in one call
+     * @param keys the cache keys
+     * @param loader loads the missing keys from the database
+     * @return map of found values, keyed by cache key
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        long now = System.nanoTime();
+        Map<K, V> result = new HashMap<>();
+        Set<K> missing = new HashSet<>();
+
+        for (K key : keys) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.isLive(now)) {
+                result.put(key, entry.value);
+            } else {
+                missing.add(key);
+            }
+        }
+
+        hits.add(result.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        misses.add(missing.size());
+        long loadGeneration = generation.get();
+        Map<K, V> loaded = loader.apply(missing);
+        for (Map.Entry<K, V> row : loaded.entrySet()) {
+            put(row.getKey(), row.getValue(), now, loadGeneration);
+            result.put(row.getKey(), row.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * Get a value without loading it
+     * @param key the cache key
+     * @return the cached value, or null if absent or expired
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.isLive(System.nanoTime())) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Store a value built outside the cache
+     */
+    public void put(K key, V value) {
+        put(key, value, System.nanoTime(), generation.get());
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Number of invalidations so far, changes whenever cached data is dropped
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public CacheStatsDTO getStats() {
+        return new CacheStatsDTO(name, entries.size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private void put(K key, V value, long now, long loadGeneration) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            evictOne(now);
+        }
+        entries.put(key, new Entry<>(value, now + ttlNanos));
+
+        // An invalidation ran while we were loading, the value may be stale
+        if (generation.get() != loadGeneration) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Make room for one entry, preferring an expired one
+     */
+    private void evictOne(long now) {
+        K victim = null;
+        for (Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<K, Entry<V>> candidate = it.next();
+            if (victim == null) {
+                victim = candidate.getKey();
+            }
+            if (!candidate.getValue().isLive(now)) {
+                victim = candidate.getKey();
+                break;
+            }
+        }
+        if (victim != null && entries.remove(victim) != null) {
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isLive(long now) {
+            return expiresAt - now > 0;
+        }
+    }
+}
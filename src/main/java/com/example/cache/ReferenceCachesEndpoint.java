@@ -0,0 +1,46 @@
+package com.example.cache;
+
+import com.example.dto.CacheStatsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Reference Caches Endpoint
+ * Exposes hit/miss stats of the reference data caches and lets operators
+ * drop them after editing locations or categories directly in the database.
+ * Served on the management port only, so clients cannot empty the caches.
+ */
+@Component
+@Endpoint(id = "referencecaches")
+public class ReferenceCachesEndpoint {
+
+    private final CacheRegistry cacheRegistry;
+
+    @Autowired
+    public ReferenceCachesEndpoint(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    /**
+     * Get cache stats
+     * GET /actuator/referencecaches
+     */
+    @ReadOperation
+    public List<CacheStatsDTO> stats() {
+        return cacheRegistry.getStats();
+    }
+
+    /**
+     * Invalidate all reference data caches
+     * DELETE /actuator/referencecaches
+     */
+    @DeleteOperation
+    public void invalidate() {
+        cacheRegistry.invalidateAll();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.function.Supplier;
+
+/**
+ * Response Body Cache
+ * Keeps the serialized JSON of nearly static responses together with its ETag.
+ * Each body is stored with the version of the data it was built from; callers
+ * pass the current version, which is read from memory, and the body is only
+ * rebuilt (and the database only queried) when that version has moved on.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final ReferenceCache<String, CachedBody> bodies;
+
+    @Autowired
+    public ResponseBodyCache(ObjectMapper objectMapper, CacheRegistry cacheRegistry) {
+        this.objectMapper = objectMapper;
+        this.bodies = cacheRegistry.create("responseBodies");
+    }
+
+    /**
+     * Get the serialized body for a response
+     * @param name the response name
+     * @param version current version of the data behind the response,
+     *                read before the body is built so a concurrent change is never missed
+     * @param body builds the response object on a miss
+     * @return cached body and ETag
+     */
+    public CachedBody get(String name, long version, Supplier<Object> body) {
+        CachedBody cached = bodies.getIfPresent(name);
+        if (cached != null && cached.version == version) {
+            return cached;
+        }
+
+        CachedBody built = serialize(version, body.get());
+        bodies.put(name, built);
+        return built;
+    }
+
+    private CachedBody serialize(long version, Object body) {
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            // Derived from the content, not the version, so it stays valid across restarts and nodes
+            String eTag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+            return new CachedBody(version, bytes, eTag);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response", e);
+        }
+    }
+
+    /**
+     * Serialized response body with its ETag
+     */
+    public static final class CachedBody {
+        private final long version;
+        private final byte[] bytes;
+        private final String eTag;
+
+        private CachedBody(long version, byte[] bytes, String eTag) {
+            this.version = version;
+            this.bytes = bytes;
+            this.eTag = eTag;
+        }
+
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.configuration;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Application Configuration
@@ -9,8 +10,10 @@ import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
  */
 @Configuration
 @EnableJpaAuditing
+@EnableScheduling
 public class ApplicationConfiguration {
     // Configuration class for application-wide settings
     // Currently enables JPA auditing for automatic timestamp management
+    // and scheduling for background jobs (e.g. inventory write-back)
 }
 
@@ -0,0 +1,160 @@
+package com.example.controller;
+
+import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.example.dto.BookingDTO;
+import com.example.dto.ResponseEnvelope;
+import com.example.service.BookingService;
+import com.example.waitingroom.WaitingRoomManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.UncheckedIOException;
+
+
+/**
+ * Booking Controller
+ * REST controller for ticket booking endpoints.
+ * Booking or holding seats of an event behind a waiting room needs the
+ * admission token from {@link WaitingRoomManager} in X-Admission-Token.
+ * The admission is used up by the request, and given back if nothing was booked or held.
+ */
+@RestController
+@RequestMapping(ApplicationConstants.BOOKING_ENDPOINT)
+public class BookingController {
+
+    private final BookingService bookingService;
+    private final WaitingRoomManager waitingRoomManager;
+
+    @Autowired
+    public BookingController(BookingService bookingService, WaitingRoomManager waitingRoomManager) {
+        this.bookingService = bookingService;
+        this.waitingRoomManager = waitingRoomManager;
+    }
+
+    /**
+     * Book tickets for an event
+     * POST /api/bookings
+     */
+    @PostMapping
+    public ResponseEntity<ResponseEnvelope> bookTickets(@RequestBody BookingDTO bookingRequest,
+                                                       @RequestHeader(value = ApplicationConstants.ADMISSION_TOKEN_HEADER, required = false) String admissionToken) {
+        if (bookingRequest != null && !waitingRoomManager.useAdmission(bookingRequest.getEventId(), admissionToken)) {
+            return errorResponse(HttpStatus.FORBIDDEN, ApplicationConstants.ADMISSION_REQUIRED + bookingRequest.getEventId());
+        }
+        boolean booked = false;
+        try {
+            ResponseEnvelope response = bookingService.bookTickets(bookingRequest);
+            booked = true;
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        } catch (UncheckedIOException e) {
+            // The booking may still have been recorded
+            booked = true;
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, ApplicationConstants.BOOKING_NOT_RECORDED);
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to book tickets: " + e.getMessage());
+        } finally {
+            if (!booked && bookingRequest != null) {
+                waitingRoomManager.returnAdmission(bookingRequest.getEventId(), admissionToken);
+            }
+        }
+    }
+
+    /**
+     * Get seats available for an event
+     * GET /api/bookings/{eventId}/availability
+     */
+    @GetMapping("/{eventId}/availability")
+    public ResponseEntity<ResponseEnvelope> getAvailability(@PathVariable Long eventId) {
+        try {
+            ResponseEnvelope response = bookingService.getAvailability(eventId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get availability: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hold tickets for an event while the buyer checks out
+     * POST /api/bookings/holds
+     */
+    @PostMapping("/holds")
+    public ResponseEntity<ResponseEnvelope> holdTickets(@RequestBody BookingDTO holdRequest,
+                                                       @RequestHeader(value = ApplicationConstants.ADMISSION_TOKEN_HEADER, required = false) String admissionToken) {
+        if (holdRequest != null && !waitingRoomManager.useAdmission(holdRequest.getEventId(), admissionToken)) {
+            return errorResponse(HttpStatus.FORBIDDEN, ApplicationConstants.ADMISSION_REQUIRED + holdRequest.getEventId());
+        }
+        boolean held = false;
+        try {
+            ResponseEnvelope response = bookingService.holdTickets(holdRequest);
+            held = true;
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to hold tickets: " + e.getMessage());
+        } finally {
+            if (!held && holdRequest != null) {
+                waitingRoomManager.returnAdmission(holdRequest.getEventId(), admissionToken);
+            }
+        }
+    }
+
+    /**
+     * Book the tickets of a hold
+     * POST /api/bookings/holds/{holdId}/confirm
+     */
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<ResponseEnvelope> confirmHold(@PathVariable String holdId) {
+        try {
+            ResponseEnvelope response = bookingService.confirmHold(holdId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (UncheckedIOException e) {
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, ApplicationConstants.BOOKING_NOT_RECORDED);
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to confirm hold: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Release the tickets of a hold
+     * DELETE /api/bookings/holds/{holdId}
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<ResponseEnvelope> releaseHold(@PathVariable String holdId) {
+        try {
+            ResponseEnvelope response = bookingService.releaseHold(holdId);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to release hold: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ResponseEnvelope> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.error(message));
+    }
+}
@@ -1,14 +1,25 @@
 package com.example.controller;
 
 import com.example.ApplicationConstants;
+import com.example.cache.ResponseBodyCache;
 import com.example.dto.EventCategoryDTO;
 import com.example.dto.EventsDTO;
+import com.example.dto.ResponseEnvelope;
+import com.example.idempotency.IdempotencyStore;
 import com.example.service.EventService;
+import com.example.util.ApplicationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -16,48 +27,211 @@ import java.util.Map;
 public class EventController {
 
     private final EventService eventService;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, IdempotencyStore idempotencyStore) {
         this.eventService = eventService;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    /**
+     * Get all categories with their event counts
+     * GET /api/events/category
+     * Served from cached JSON with an ETag; a matching If-None-Match gets 304
+     */
     @GetMapping("/category")
-    public ResponseEntity<Map<String, Object>> getAllCategories() {
+    public ResponseEntity<?> getAllCategories() {
         try {
-            Map<String, Object> response = eventService.getAllCategories();
-            return ResponseEntity.ok(response);
+            ResponseBodyCache.CachedBody body = eventService.getAllCategoriesBody();
+
+            return ResponseEntity.ok()
+                    .eTag(body.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body.getBytes());
         } catch (Exception e) {
-            Map<String, Object> response = eventService.buildErrorResponse(
+            ResponseEnvelope response = eventService.buildErrorResponse(
                     "Failed to get categories: " + e.getMessage()
             );
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
+    /**
+     * Get active events
+     * GET /api/events returns the full catalog,
+     * GET /api/events?size=20&cursor=... returns one page in hosted_from order
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllEvents() {
+    public ResponseEntity<ResponseEnvelope> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            ResponseEnvelope response = cursor == null && size == null
+                    ? eventService.getAllEventsWithDetails()
+                    : eventService.getEventsPage(cursor, size);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(
+                    "Failed to get events: " + e.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Search active events by name, venue or description
+     * GET /api/events/search?q=jazz%20fest&limit=20
+     * The last word is matched as a prefix, for search-as-you-type
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResponseEnvelope> searchEvents(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ResponseEnvelope response = eventService.searchEvents(q, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (IllegalStateException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        } catch (Exception e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(
+                    "Failed to search events: " + e.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Get active events running at any point in a time window
+     * GET /api/events/window?from=2026-10-24T00:00:00&to=2026-10-26T00:00:00&limit=20
+     */
+    @GetMapping("/window")
+    public ResponseEntity<ResponseEnvelope> getEventsInWindow(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            ResponseEnvelope response = eventService.getEventsInWindow(from, to, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(
+                    "Failed to get events: " + e.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Get active events in a city and/or category
+     * GET /api/events/filter?city=Pune&category=MUSIC&size=20&cursor=...
+     */
+    @GetMapping("/filter")
+    public ResponseEntity<ResponseEnvelope> filterEvents(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            Map<String, Object> response = eventService.getAllEventsWithDetails();
+            ResponseEnvelope response = eventService.filterEvents(city, category, cursor, size);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (IllegalStateException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         } catch (Exception e) {
-            Map<String, Object> response = eventService.buildErrorResponse(
+            ResponseEnvelope response = eventService.buildErrorResponse(
                     "Failed to get events: " + e.getMessage()
             );
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
+    /**
+     * Export every active event as a single streamed JSON document
+     * GET /api/events/export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = eventService::exportEvents;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Create an event
+     * POST /api/events
+     * With an Idempotency-Key header, retries get the first response back instead of creating again
+     */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createEvent(@RequestBody EventsDTO eventRequestBody) {
+    public ResponseEntity<?> createEvent(@RequestBody EventsDTO eventRequestBody,
+                                         @RequestHeader(value = ApplicationConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(ApplicationConstants.EVENTS_ENDPOINT, idempotencyKey, eventRequestBody, () -> {
+            try {
+                ResponseEnvelope response = eventService.createEvent(eventRequestBody);
+                return ResponseEntity.ok(response);
+            } catch (Exception e) {
+                ResponseEnvelope response = eventService.buildErrorResponse(
+                        "Failed to create event: " + e.getMessage()
+                );
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            }
+        });
+    }
+
+    /**
+     * Import a JSON array of events
+     * POST /api/events/bulk
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseEnvelope> importEvents(@RequestBody List<EventsDTO> eventRequests) {
+        try {
+            ResponseEnvelope response = eventService.importEvents(eventRequests);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(
+                    "Failed to import events: " + e.getMessage()
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * Import events from CSV with a header line
+     * POST /api/events/bulk (Content-Type: text/csv)
+     * A line with a value that cannot be parsed is reported as an error row; the rest are imported
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<ResponseEnvelope> importEventsCsv(@RequestBody String csv) {
         try {
-            Map<String, Object> response = eventService.createEvent(eventRequestBody);
+            Map<Integer, String> rowErrors = new HashMap<>();
+            List<EventsDTO> eventRequests = ApplicationUtils.parseEventsCsv(csv, rowErrors);
+            ResponseEnvelope response = eventService.importEvents(eventRequests, rowErrors);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseEnvelope response = eventService.buildErrorResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
         } catch (Exception e) {
-            Map<String, Object> response = eventService.buildErrorResponse(
-                    "Failed to create event: " + e.getMessage()
+            ResponseEnvelope response = eventService.buildErrorResponse(
+                    "Failed to import events: " + e.getMessage()
             );
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,17 +1,18 @@
 package com.example.controller;
 
 import com.example.ApplicationConstants;
+import com.example.cache.ResponseBodyCache;
+import com.example.dto.ApiResponse;
 import com.example.service.LocationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestController
 @RequestMapping(ApplicationConstants.LOCATION_ENDPOINT)
 public class LocationController {
@@ -23,23 +24,24 @@ public class LocationController {
         this.locationService = locationService;
     }
 
+    /**
+     * Get all locations
+     * GET /api/locations
+     * Served from cached JSON with an ETag; a matching If-None-Match gets 304
+     */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getLocations() {
+    public ResponseEntity<?> getLocations() {
         try {
-            Map<String, Long> locations = locationService.getLocations();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.SUCCESS);
-            response.put("data", locations);
-            response.put("count", locations.size());
-            
-            return ResponseEntity.ok(response);
+            ResponseBodyCache.CachedBody body = locationService.getLocationsBody();
+
+            return ResponseEntity.ok()
+                    .eTag(body.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(body.getBytes());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to get locations: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to get locations: " + e.getMessage()));
         }
     }
 }
@@ -1,7 +1,12 @@
 package com.example.controller;
 
 import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.example.dto.ImportResponse;
+import com.example.dto.ResponseEnvelope;
 import com.example.dto.UserDTO;
+import com.example.dto.UserImportResultDTO;
+import com.example.idempotency.IdempotencyStore;
 import com.example.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +14,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -22,35 +26,89 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final IdempotencyStore idempotencyStore;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, IdempotencyStore idempotencyStore) {
         this.userService = userService;
+        this.idempotencyStore = idempotencyStore;
     }
 
     /**
      * Create a new user
      * POST /api/users
+     * With an Idempotency-Key header, retries get the first response back instead of creating again
      */
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createUser(@Valid @RequestBody UserDTO userDto) {
+    public ResponseEntity<?> createUser(@Valid @RequestBody UserDTO userDto,
+                                        @RequestHeader(value = ApplicationConstants.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(ApplicationConstants.USER_ENDPOINT, idempotencyKey, userDto, () -> {
+            try {
+                UserDTO createdUser = userService.createUser(userDto);
+                return ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success(ApplicationConstants.CREATED, createdUser));
+            } catch (IllegalArgumentException e) {
+                return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+            } catch (Exception e) {
+                return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create user: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Create many users at once
+     * POST /api/users/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ResponseEnvelope> createUsers(@RequestBody List<UserDTO> userDtos) {
+        try {
+            List<UserImportResultDTO> results = userService.createUsers(userDtos);
+            long created = results.stream().filter(result -> "created".equals(result.getStatus())).count();
+
+            String message = "Created " + created + " of " + results.size() + " users";
+            return ResponseEntity.ok(ImportResponse.of(message, results, created));
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create users: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Check whether a username and/or email is still free
+     * GET /api/users/availability?username=john_doe&email=john@example.com
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<ResponseEnvelope> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        try {
+            Map<String, Boolean> availability = userService.checkAvailability(username, email);
+            return ResponseEntity.ok(ApiResponse.success(ApplicationConstants.SUCCESS, availability));
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to check availability: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Autocomplete users by username or email prefix
+     * GET /api/users/search?prefix=ali&limit=10
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ResponseEnvelope> searchUsers(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
         try {
-            UserDTO createdUser = userService.createUser(userDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.CREATED);
-            response.put("data", createdUser);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            List<UserDTO> users = userService.searchUsers(prefix, limit);
+            return ResponseEntity.ok(ApiResponse.list(ApplicationConstants.SUCCESS, users));
         } catch (IllegalArgumentException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to create user: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to search users: " + e.getMessage());
         }
     }
 
@@ -59,24 +117,14 @@ public class UserController {
      * GET /api/users/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getUserById(@PathVariable Long id) {
+    public ResponseEntity<ResponseEnvelope> getUserById(@PathVariable Long id) {
         try {
             UserDTO user = userService.getUserById(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.SUCCESS);
-            response.put("data", user);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.success(ApplicationConstants.SUCCESS, user));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to get user: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get user: " + e.getMessage());
         }
     }
 
@@ -85,20 +133,12 @@ public class UserController {
      * GET /api/users
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllUsers() {
+    public ResponseEntity<ResponseEnvelope> getAllUsers() {
         try {
             List<UserDTO> users = userService.getAllUsers();
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.SUCCESS);
-            response.put("data", users);
-            response.put("count", users.size());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.list(ApplicationConstants.SUCCESS, users));
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to get users: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get users: " + e.getMessage());
         }
     }
 
@@ -107,29 +147,19 @@ public class UserController {
      * PUT /api/users/{id}
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> updateUser(
+    public ResponseEntity<ResponseEnvelope> updateUser(
             @PathVariable Long id,
             @Valid @RequestBody UserDTO userDto) {
         try {
             UserDTO updatedUser = userService.updateUser(id, userDto);
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.UPDATED);
-            response.put("data", updatedUser);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.success(ApplicationConstants.UPDATED, updatedUser));
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            int statusCode = e.getMessage().contains("not found") 
-                ? HttpStatus.NOT_FOUND.value() 
-                : HttpStatus.BAD_REQUEST.value();
-            return ResponseEntity.status(statusCode).body(response);
+            HttpStatus status = e.getMessage().contains("not found")
+                ? HttpStatus.NOT_FOUND
+                : HttpStatus.BAD_REQUEST;
+            return errorResponse(status, e.getMessage());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to update user: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to update user: " + e.getMessage());
         }
     }
 
@@ -138,24 +168,18 @@ public class UserController {
      * DELETE /api/users/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<ResponseEnvelope> deleteUser(@PathVariable Long id) {
         try {
             userService.deleteUser(id);
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", ApplicationConstants.DELETED);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResponse.DELETED);
         } catch (RuntimeException e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
         } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "error");
-            response.put("message", "Failed to delete user: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete user: " + e.getMessage());
         }
     }
-}
 
+    private ResponseEntity<ResponseEnvelope> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.error(message));
+    }
+}
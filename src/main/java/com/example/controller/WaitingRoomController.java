@@ -0,0 +1,114 @@
+package com.example.controller;
+
+import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.example.dto.ResponseEnvelope;
+import com.example.dto.WaitingRoomStatsDTO;
+import com.example.waitingroom.WaitingRoomManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Waiting Room Controller
+ * Lets operators open a waiting room in front of a hot event's booking path,
+ * and clients join its line and poll for their turn
+ */
+@RestController
+@RequestMapping(ApplicationConstants.WAITING_ROOM_ENDPOINT)
+public class WaitingRoomController {
+
+    private final WaitingRoomManager waitingRoomManager;
+
+    @Autowired
+    public WaitingRoomController(WaitingRoomManager waitingRoomManager) {
+        this.waitingRoomManager = waitingRoomManager;
+    }
+
+    /**
+     * Get the open waiting rooms
+     * GET /api/waiting-room
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<WaitingRoomStatsDTO>>> getStats() {
+        List<WaitingRoomStatsDTO> stats = waitingRoomManager.getStats();
+        return ResponseEntity.ok(ApiResponse.list(ApplicationConstants.SUCCESS, stats));
+    }
+
+    /**
+     * Open a waiting room for an event
+     * POST /api/waiting-room/{eventId}?ratePerSecond=50&burst=100
+     */
+    @PostMapping("/{eventId}")
+    public ResponseEntity<ResponseEnvelope> open(@PathVariable Long eventId,
+                                                 @RequestParam(required = false) Double ratePerSecond,
+                                                 @RequestParam(required = false) Long burst) {
+        try {
+            WaitingRoomStatsDTO room = waitingRoomManager.open(eventId, ratePerSecond, burst);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(ApplicationConstants.CREATED, room));
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            return errorResponse(HttpStatus.CONFLICT, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to open waiting room: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Close an event's waiting room
+     * DELETE /api/waiting-room/{eventId}
+     */
+    @DeleteMapping("/{eventId}")
+    public ResponseEntity<ResponseEnvelope> close(@PathVariable Long eventId) {
+        try {
+            WaitingRoomStatsDTO room = waitingRoomManager.close(eventId);
+            return ResponseEntity.ok(ApiResponse.success(ApplicationConstants.DELETED, room));
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to close waiting room: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Join an event's line
+     * POST /api/waiting-room/{eventId}/join
+     */
+    @PostMapping("/{eventId}/join")
+    public ResponseEntity<ResponseEnvelope> join(@PathVariable Long eventId) {
+        try {
+            ResponseEnvelope response = ApiResponse.success(ApplicationConstants.SUCCESS, waitingRoomManager.join(eventId));
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to join waiting room: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get a client's place in line, with its admission token once admitted
+     * GET /api/waiting-room/{eventId}/status?token={queueToken}
+     */
+    @GetMapping("/{eventId}/status")
+    public ResponseEntity<ResponseEnvelope> getStatus(@PathVariable Long eventId, @RequestParam String token) {
+        try {
+            ResponseEnvelope response = ApiResponse.success(ApplicationConstants.SUCCESS, waitingRoomManager.getStatus(eventId, token));
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return errorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RuntimeException e) {
+            return errorResponse(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (Exception e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to get waiting room status: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<ResponseEnvelope> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.error(message));
+    }
+}
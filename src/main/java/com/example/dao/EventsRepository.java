@@ -1,29 +1,91 @@
 package com.example.dao;
 
+import com.example.ApplicationConstants;
 import com.example.dto.EventCategoryDTO;
+import com.example.dto.EventsDTO;
 import com.example.entity.EventCategory;
 import com.example.entity.Events;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 
 public interface EventsRepository extends JpaRepository<Events, Long> {
 
-    @Query("SELECT new com.example.dto.EventCategoryDTO(" +
-            "c.id, " +
-            "c.name, " +
-            "COALESCE((SELECT COUNT(e.id) FROM Events e WHERE e.categoryId = c.id), 0L)) " +
-            "FROM EventCategory c " +
-            "ORDER BY c.name")
-    List<EventCategoryDTO> getEventCategories();
+    @Query("SELECT c FROM EventCategory c ORDER BY c.name")
+    List<EventCategory> getAllEventCategories();
+
+    @Query("SELECT e.categoryId, COUNT(e.id) FROM Events e GROUP BY e.categoryId")
+    List<Object[]> countEventsByCategory();
 
     @Query("SELECT e FROM Events e WHERE e.status=1")
     List<Events> getAllEvents();
 
+    @Query("SELECT new com.example.dto.EventsDTO(" +
+            "e.id, e.name, e.displayPicture, e.description, " +
+            "e.hostedFrom, e.hostedTo, e.createdAt, e.updatedAt, " +
+            "e.categoryId, e.locationId, e.venue, e.ticketAmount, " +
+            "e.status, e.capacity, e.ticketsBooked, " +
+            "c.name, " +
+            "CONCAT(l.city, ', ', l.country)) " +
+            "FROM Events e " +
+            "LEFT JOIN EventCategory c ON c.id = e.categoryId " +
+            "LEFT JOIN Locations l ON l.id = e.locationId " +
+            "WHERE e.status = 1")
+    List<EventsDTO> getAllEventsWithDetails();
+
+    /**
+     * Same rows as getAllEventsWithDetails, read through a forward-only cursor.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApplicationConstants.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.dto.EventsDTO(" +
+            "e.id, e.name, e.displayPicture, e.description, " +
+            "e.hostedFrom, e.hostedTo, e.createdAt, e.updatedAt, " +
+            "e.categoryId, e.locationId, e.venue, e.ticketAmount, " +
+            "e.status, e.capacity, e.ticketsBooked, " +
+            "c.name, " +
+            "CONCAT(l.city, ', ', l.country)) " +
+            "FROM Events e " +
+            "LEFT JOIN EventCategory c ON c.id = e.categoryId " +
+            "LEFT JOIN Locations l ON l.id = e.locationId " +
+            "WHERE e.status = 1 " +
+            "ORDER BY e.id")
+    Stream<EventsDTO> streamAllEventsWithDetails();
+
+    @Query(value = "SELECT * FROM events WHERE status = 1 " +
+            "ORDER BY hosted_from, id LIMIT :limit", nativeQuery = true)
+    List<Events> getEventsFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM events WHERE status = 1 " +
+            "AND (hosted_from, id) > (:hostedFrom, :id) " +
+            "ORDER BY hosted_from, id LIMIT :limit", nativeQuery = true)
+    List<Events> getEventsPageAfter(@Param("hostedFrom") LocalDateTime hostedFrom,
+                                    @Param("id") Long id,
+                                    @Param("limit") int limit);
+
+    /**
+     * Active events running at any point in [from, to), in hosted_from order.
+     * The range expression matches idx_events_active_hosted_range.
+     */
+    @Query(value = "SELECT * FROM events WHERE status = 1 " +
+            "AND tsrange(hosted_from, GREATEST(hosted_from, hosted_to), '[]') && tsrange(:from, :to, '[)') " +
+            "ORDER BY hosted_from, id LIMIT :limit", nativeQuery = true)
+    List<Events> getEventsOverlapping(@Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      @Param("limit") int limit);
+
     @Query("SELECT c FROM EventCategory c WHERE c.id IN :ids")
     List<EventCategory> getEventCategoryById(Set <Long> ids);
 
@@ -31,4 +93,9 @@ public interface EventsRepository extends JpaRepository<Events, Long> {
     EventCategory getEventCategoryByName(String name);
 
     Events save(Events event);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Events e SET e.ticketsBooked = :ticketsBooked, e.updatedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
+    int updateTicketsBooked(@Param("id") Long id, @Param("ticketsBooked") Integer ticketsBooked);
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -113,5 +114,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByIdNotAndUsernameStartingWith(
             @Param("id") Long id, 
             @Param("usernamePrefix") String usernamePrefix);
-}
 
+    /**
+     * Find which of the given usernames are already taken
+     * @param usernames the usernames to check
+     * @return the subset of usernames that exist
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Find which of the given emails are already taken
+     * @param emails the emails to check
+     * @return the subset of emails that exist
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
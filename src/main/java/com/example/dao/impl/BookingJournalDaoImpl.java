@@ -0,0 +1,68 @@
+package com.example.dao.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booking Journal DAO
+ * Folds journaled bookings into events.tickets_booked and keeps the sequence
+ * of the last journal entry applied in booking_journal_state. Both are meant
+ * to be written in one transaction, so an entry is never applied twice.
+ */
+@Component
+public class BookingJournalDaoImpl {
+
+    private static final String ADD_TICKETS_BOOKED_SQL =
+            "UPDATE events SET tickets_booked = COALESCE(tickets_booked, 0) + ?, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = ?";
+
+    private static final String INSERT_STATE_SQL =
+            "INSERT INTO booking_journal_state (name, applied_sequence) VALUES (?, 0) ON CONFLICT (name) DO NOTHING";
+
+    private static final String SELECT_APPLIED_SQL =
+            "SELECT applied_sequence FROM booking_journal_state WHERE name = ?";
+
+    private static final String UPDATE_APPLIED_SQL =
+            "UPDATE booking_journal_state SET applied_sequence = ? WHERE name = ? AND applied_sequence < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookingJournalDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Add booked seats to events in one JDBC batch
+     * @param ticketsBooked seats to add, by event ID
+     */
+    public void addTicketsBooked(Map<Long, Integer> ticketsBooked) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(ticketsBooked.entrySet());
+        jdbcTemplate.batchUpdate(ADD_TICKETS_BOOKED_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setInt(1, entry.getValue());
+            statement.setLong(2, entry.getKey());
+        });
+    }
+
+    /**
+     * @return the sequence of the last entry applied from the named journal, 0 for a new one
+     */
+    public long getAppliedSequence(String name) {
+        jdbcTemplate.update(INSERT_STATE_SQL, name);
+        Long applied = jdbcTemplate.queryForObject(SELECT_APPLIED_SQL, Long.class, name);
+        return applied == null ? 0 : applied;
+    }
+
+    /**
+     * Record how far the named journal has been applied; never moves backwards
+     * @return true if the sequence moved
+     */
+    public boolean setAppliedSequence(String name, long appliedSequence) {
+        return jdbcTemplate.update(UPDATE_APPLIED_SQL, appliedSequence, name, appliedSequence) == 1;
+    }
+}
@@ -1,44 +1,238 @@
 package com.example.dao.impl;
 
+import com.example.cache.CacheRegistry;
+import com.example.cache.EventCategoryCounts;
+import com.example.cache.ReferenceCache;
 import com.example.dao.EventsRepository;
 import com.example.dto.EventCategoryDTO;
+import com.example.dto.EventsDTO;
 import com.example.entity.EventCategory;
 import com.example.entity.Events;
+import com.example.index.EventIntervalIndex;
+import com.example.index.EventPostingsIndex;
+import com.example.index.EventSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Component
 public class EventsDaoImpl {
     
+    private static final String ALL_CATEGORIES = "ALL";
+
+    // One round trip reserves IDs for a whole batch from the events id sequence
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('events', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO events (id, name, display_picture, description, hosted_from, hosted_to, " +
+            "created_at, updated_at, category_id, location_id, venue, ticket_amount, status, " +
+            "capacity, tickets_booked) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final EventsRepository eventsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventCategoryCounts categoryCounts;
+    private final EventSearchIndex searchIndex;
+    private final EventIntervalIndex intervalIndex;
+    private final EventPostingsIndex postingsIndex;
+    private final ReferenceCache<String, List<EventCategory>> categoryList;
+    private final ReferenceCache<Long, EventCategory> categoriesById;
+    private final ReferenceCache<String, EventCategory> categoriesByName;
 
     @Autowired
-    public EventsDaoImpl(EventsRepository eventsRepository) {
+    public EventsDaoImpl(EventsRepository eventsRepository,
+                         JdbcTemplate jdbcTemplate,
+                         EventCategoryCounts categoryCounts,
+                         EventSearchIndex searchIndex,
+                         EventIntervalIndex intervalIndex,
+                         EventPostingsIndex postingsIndex,
+                         CacheRegistry cacheRegistry) {
         this.eventsRepository = eventsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryCounts = categoryCounts;
+        this.searchIndex = searchIndex;
+        this.intervalIndex = intervalIndex;
+        this.postingsIndex = postingsIndex;
+        this.categoryList = cacheRegistry.create("eventCategoryList");
+        this.categoriesById = cacheRegistry.create("eventCategoriesById");
+        this.categoriesByName = cacheRegistry.create("eventCategoriesByName");
     }
 
+    /**
+     * Get all categories with their event counts
+     * @return categories ordered by name, counts read from the in-memory counters
+     */
     public List<EventCategoryDTO> getEventCategories() {
-        return eventsRepository.getEventCategories();
+        return getAllEventCategories().stream()
+                .map(category -> new EventCategoryDTO(
+                        category.getId(),
+                        category.getName(),
+                        categoryCounts.get(category.getId())))
+                .collect(Collectors.toList());
     }
 
     public List<Events> getAllEvents() {
         return eventsRepository.getAllEvents();
     }
 
+    /**
+     * Get all active events with category name and location already joined in
+     * @return enriched event rows, one query, no entity hydration
+     */
+    public List<EventsDTO> getAllEventsWithDetails() {
+        return eventsRepository.getAllEventsWithDetails();
+    }
+
+    /**
+     * Stream all active events with details through a database cursor
+     * @return stream of enriched event rows, caller must close it inside a transaction
+     */
+    public Stream<EventsDTO> streamAllEventsWithDetails() {
+        return eventsRepository.streamAllEventsWithDetails();
+    }
+
+    /**
+     * Get one page of active events in (hosted_from, id) order
+     * @param hostedFrom hosted_from of the last event on the previous page, null for the first page
+     * @param id id of the last event on the previous page, null for the first page
+     * @param limit maximum number of events to return
+     * @return events after the given position
+     */
+    public List<Events> getEventsPage(LocalDateTime hostedFrom, Long id, int limit) {
+        if (hostedFrom == null || id == null) {
+            return eventsRepository.getEventsFirstPage(limit);
+        }
+        return eventsRepository.getEventsPageAfter(hostedFrom, id, limit);
+    }
+
+    /**
+     * Get all category IDs keyed by upper-cased category name
+     * @return map of upper(name) -> category id
+     */
+    public Map<String, Long> getEventCategoryIdsByName() {
+        return getAllEventCategories().stream()
+                .collect(Collectors.toMap(category -> category.getName().toUpperCase(), EventCategory::getId));
+    }
+
     public List<EventCategory> getEventCategoryById(Set<Long> ids) {
-        return eventsRepository.getEventCategoryById(ids);
+        Map<Long, EventCategory> categories = categoriesById.getAll(ids, missing ->
+                eventsRepository.getEventCategoryById(missing).stream()
+                        .collect(Collectors.toMap(EventCategory::getId, Function.identity())));
+        return List.copyOf(categories.values());
     }
 
     public EventCategory getEventCategoryByName(String name) {
+        // Keyed on the upper-cased name, same as the upper(c.name) lookup
         name = name.toUpperCase();
-        return eventsRepository.getEventCategoryByName(name);
+        return categoriesByName.get(name, eventsRepository::getEventCategoryByName);
+    }
+
+    private List<EventCategory> getAllEventCategories() {
+        return categoryList.get(ALL_CATEGORIES, key -> List.copyOf(eventsRepository.getAllEventCategories()));
+    }
+
+    /**
+     * Version of the data behind getEventCategories, read from memory only
+     * @return a number that changes whenever categories or their event counts change
+     */
+    public long getEventCategoriesVersion() {
+        return categoryList.getGeneration() + categoryCounts.getVersion();
+    }
+
+    /**
+     * Drop cached event categories, call after writing to event_category
+     */
+    public void invalidateEventCategoryCache() {
+        categoryList.invalidateAll();
+        categoriesById.invalidateAll();
+        categoriesByName.invalidateAll();
     }
 
     public void insertEvent(Events event) {
         eventsRepository.save(event);
+        categoryCounts.increment(event.getCategoryId());
+        searchIndex.add(event);
+        intervalIndex.add(event);
+        postingsIndex.add(event);
+    }
+
+    /**
+     * Insert a batch of events with a single JDBC batch.
+     * IDs are reserved up front from the events sequence and set on the entities.
+     * Must run inside a transaction, the whole batch fails together.
+     * @param events the events to insert
+     */
+    public void insertEvents(List<Events> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, events.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < events.size(); i++) {
+            Events event = events.get(i);
+            event.setId(ids.get(i));
+            event.setCreatedAt(now);
+            event.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getId());
+            ps.setString(2, event.getName());
+            ps.setString(3, event.getDisplayPicture());
+            ps.setString(4, event.getDescription());
+            ps.setTimestamp(5, Timestamp.valueOf(event.getHostedFrom()));
+            ps.setTimestamp(6, Timestamp.valueOf(event.getHostedTo()));
+            ps.setTimestamp(7, Timestamp.valueOf(event.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(event.getUpdatedAt()));
+            ps.setLong(9, event.getCategoryId());
+            ps.setLong(10, event.getLocationId());
+            ps.setString(11, event.getVenue());
+            ps.setBigDecimal(12, event.getTicketAmount());
+            ps.setShort(13, event.getStatus());
+            ps.setInt(14, event.getCapacity());
+            ps.setInt(15, event.getTicketsBooked());
+        });
+
+        events.forEach(event -> {
+            categoryCounts.increment(event.getCategoryId());
+            searchIndex.add(event);
+            intervalIndex.add(event);
+            postingsIndex.add(event);
+        });
+    }
+
+    /**
+     * Get events by ID, in no particular order
+     */
+    public List<Events> getEventsByIds(List<Long> ids) {
+        return eventsRepository.findAllById(ids);
+    }
+
+    /**
+     * Get active events running at any point in [from, to), read from the database
+     * @return up to limit events in hosted_from order
+     */
+    public List<Events> getEventsOverlapping(LocalDateTime from, LocalDateTime to, int limit) {
+        return eventsRepository.getEventsOverlapping(from, to, limit);
+    }
+
+    public Optional<Events> getEventById(Long id) {
+        return eventsRepository.findById(id);
+    }
+
+    public void updateTicketsBooked(Long id, int ticketsBooked) {
+        eventsRepository.updateTicketsBooked(id, ticketsBooked);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.example.dao.impl;
+
+import com.example.idempotency.StoredResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Idempotency Key DAO
+ * Keeps the responses replayed for repeated Idempotency-Key requests in
+ * idempotency_keys. A row without a status is a claim by a request still
+ * running; the response is written into it in that request's transaction.
+ */
+@Component
+public class IdempotencyKeyDaoImpl {
+
+    // Inserts a claim, or takes over one left behind by a request that never finished
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (scope, idempotency_key, fingerprint, created_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (scope, idempotency_key) DO UPDATE " +
+            "SET fingerprint = EXCLUDED.fingerprint, created_at = EXCLUDED.created_at " +
+            "WHERE idempotency_keys.status IS NULL AND idempotency_keys.created_at < ?";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = ?, body = ? WHERE scope = ? AND idempotency_key = ?";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND status IS NULL";
+
+    private static final String SELECT_SQL =
+            "SELECT fingerprint, status, body FROM idempotency_keys WHERE scope = ? AND idempotency_key = ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public IdempotencyKeyDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claim a key for a request about to run
+     * @param staleBefore epoch millis; unfinished claims older than this are taken over
+     * @return true if the caller now owns the key
+     */
+    public boolean claim(String scope, String key, String fingerprint, long now, long staleBefore) {
+        return jdbcTemplate.update(CLAIM_SQL, scope, key, fingerprint, new Timestamp(now), new Timestamp(staleBefore)) == 1;
+    }
+
+    /**
+     * Store the response of a claimed key
+     */
+    public void complete(String scope, String key, int status, byte[] body) {
+        jdbcTemplate.update(COMPLETE_SQL, status, body, scope, key);
+    }
+
+    /**
+     * Drop a claim whose request failed, so a retry runs it again
+     */
+    public void release(String scope, String key) {
+        jdbcTemplate.update(RELEASE_SQL, scope, key);
+    }
+
+    /**
+     * @return the stored response, one with a status of 0 for a key still being processed, or null
+     */
+    public StoredResponse find(String scope, String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(SELECT_SQL, (resultSet, rowNum) -> new StoredResponse(
+                resultSet.getString("fingerprint"),
+                resultSet.getInt("status"),
+                resultSet.getBytes("body")), scope, key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * @param before epoch millis
+     * @return number of keys deleted
+     */
+    public int deleteExpired(long before) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(before));
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.dao.impl;
 
+import com.example.cache.CacheRegistry;
+import com.example.cache.ReferenceCache;
 import com.example.dao.LocationsRepository;
 import com.example.entity.Locations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Locations Data Access Object Implementation
@@ -17,18 +22,58 @@ import java.util.Set;
 @Component
 public class LocationsDaoImpl {
     
+    private static final String ALL_CITIES = "ALL";
+
     private final LocationsRepository locationsRepository;
+    private final ReferenceCache<String, Map<String, Long>> cityIndex;
+    private final ReferenceCache<Long, Locations> locationsById;
+    private final ReferenceCache<String, Locations> locationsByCity;
 
     @Autowired
-    public LocationsDaoImpl(LocationsRepository locationsRepository) {
+    public LocationsDaoImpl(LocationsRepository locationsRepository, CacheRegistry cacheRegistry) {
         this.locationsRepository = locationsRepository;
+        this.cityIndex = cacheRegistry.create("locationCityIndex");
+        this.locationsById = cacheRegistry.create("locationsById");
+        this.locationsByCity = cacheRegistry.create("locationsByCity");
     }
 
     /**
      * Get all locations as a Map (city -> id)
-     * @return Map where key is city name and value is location id
+     * @return read-only Map where key is city name and value is location id
      */
     public Map<String, Long> getAllLocations() {
+        return cityIndex.get(ALL_CITIES, key -> loadCityIndex());
+    }
+
+    public List<Locations> getLocationsById(Set<Long> ids) {
+        Map<Long, Locations> locations = locationsById.getAll(ids, missing ->
+                locationsRepository.findByIds(missing).stream()
+                        .collect(Collectors.toMap(Locations::getId, Function.identity())));
+        return List.copyOf(locations.values());
+    }
+
+    public Locations getLocationsByCity(String city) {
+        return locationsByCity.get(city, locationsRepository::getLocationsByCity);
+    }
+
+    /**
+     * Version of the data behind getAllLocations, read from memory only
+     * @return a number that changes whenever the location cache is dropped
+     */
+    public long getLocationsVersion() {
+        return cityIndex.getGeneration();
+    }
+
+    /**
+     * Drop cached locations, call after writing to locations
+     */
+    public void invalidateLocationCache() {
+        cityIndex.invalidateAll();
+        locationsById.invalidateAll();
+        locationsByCity.invalidateAll();
+    }
+
+    private Map<String, Long> loadCityIndex() {
         List<Object[]> results = locationsRepository.findAllCity();
         Map<String, Long> locationMap = new HashMap<>();
         
@@ -38,14 +83,6 @@ public class LocationsDaoImpl {
             locationMap.put(city, id);
         }
         
-        return locationMap;
-    }
-
-    public List<Locations> getLocationsById(Set<Long> ids) {
-        return locationsRepository.findByIds(ids);
-    }
-
-    public Locations getLocationsByCity(String city) {
-        return locationsRepository.getLocationsByCity(city);
+        return Collections.unmodifiableMap(locationMap);
     }
 }
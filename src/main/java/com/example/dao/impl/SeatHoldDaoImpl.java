@@ -0,0 +1,85 @@
+package com.example.dao.impl;
+
+import com.example.inventory.SeatHold;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seat Hold DAO
+ * Persists open seat holds in seat_holds so they survive a restart.
+ * Rows are only written and deleted here, never polled for expiry.
+ */
+@Component
+public class SeatHoldDaoImpl {
+
+    private static final String INSERT_HOLD_SQL =
+            "INSERT INTO seat_holds (id, event_id, user_id, quantity, expires_at) VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO NOTHING";
+
+    private static final String DELETE_HOLDS_SQL = "DELETE FROM seat_holds WHERE id = ANY (?)";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM seat_holds WHERE expires_at <= ?";
+
+    private static final String SELECT_HOLDS_SQL =
+            "SELECT id, event_id, user_id, quantity, expires_at FROM seat_holds";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public SeatHoldDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert holds in one JDBC batch
+     */
+    public void insertHolds(List<SeatHold> holds) {
+        jdbcTemplate.batchUpdate(INSERT_HOLD_SQL, holds, holds.size(), (statement, hold) -> {
+            statement.setObject(1, hold.getId());
+            statement.setLong(2, hold.getEventId());
+            if (hold.getUserId() == null) {
+                statement.setNull(3, Types.BIGINT);
+            } else {
+                statement.setLong(3, hold.getUserId());
+            }
+            statement.setInt(4, hold.getQuantity());
+            statement.setTimestamp(5, new Timestamp(hold.getExpiresAt()));
+        });
+    }
+
+    /**
+     * Delete holds in one statement
+     */
+    public void deleteHolds(List<UUID> ids) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_HOLDS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Delete holds that expired while the application was down
+     * @param now epoch millis
+     * @return number of holds deleted
+     */
+    public int deleteExpiredHolds(long now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(now));
+    }
+
+    public List<SeatHold> findAllHolds() {
+        return jdbcTemplate.query(SELECT_HOLDS_SQL, (resultSet, rowNum) -> new SeatHold(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getLong("event_id"),
+                resultSet.getObject("user_id", Long.class),
+                resultSet.getInt("quantity"),
+                resultSet.getTimestamp("expires_at").getTime()));
+    }
+}
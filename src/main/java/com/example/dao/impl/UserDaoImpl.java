@@ -3,8 +3,11 @@ package com.example.dao.impl;
 import com.example.dao.UserRepository;
 import com.example.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +18,21 @@ import java.util.Optional;
 @Component
 public class UserDaoImpl {
 
+    // One round trip reserves IDs for a whole batch from the users id sequence
+    private static final String RESERVE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('users', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, username, email, first_name, last_name, phone_number, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public UserDaoImpl(UserRepository userRepository) {
+    public UserDaoImpl(UserRepository userRepository, JdbcTemplate jdbcTemplate) {
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     /**
@@ -31,6 +44,38 @@ public class UserDaoImpl {
         return userRepository.save(user);
     }
 
+    /**
+     * Insert a batch of users with a single JDBC batch.
+     * IDs are reserved up front from the users sequence and set on the entities.
+     * Must run inside a transaction, the whole batch fails together.
+     * @param users the users to insert
+     */
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(RESERVE_IDS_SQL, Long.class, users.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(ids.get(i));
+            user.setCreatedAt(now);
+            user.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, users.size(), (ps, user) -> {
+            ps.setLong(1, user.getId());
+            ps.setString(2, user.getUsername());
+            ps.setString(3, user.getEmail());
+            ps.setString(4, user.getFirstName());
+            ps.setString(5, user.getLastName());
+            ps.setString(6, user.getPhoneNumber());
+            ps.setTimestamp(7, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(8, Timestamp.valueOf(user.getUpdatedAt()));
+        });
+    }
+
     /**
      * Find user by ID
      * @param id the user ID
@@ -40,6 +85,15 @@ public class UserDaoImpl {
         return userRepository.findById(id);
     }
 
+    /**
+     * Find users by IDs
+     * @param ids the user IDs
+     * @return the users found, in no particular order
+     */
+    public List<User> findAllById(List<Long> ids) {
+        return userRepository.findAllById(ids);
+    }
+
     /**
      * Find all users
      * @return list of all users
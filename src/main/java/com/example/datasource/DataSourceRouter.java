@@ -0,0 +1,218 @@
+package com.example.datasource;
+
+import com.example.util.ApplicationUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource Router
+ * Hands out primary connections to read-write work and replica connections
+ * to read-only transactions. A replica that fails to connect, or lags more
+ * than maxLagMillis behind, is skipped until a health check finds it back;
+ * with no healthy replica, reads go to the primary.
+ * With read-your-writes pinning on, a client's reads also go to the primary
+ * for a while after one of its read-write transactions commits.
+ */
+public class DataSourceRouter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceRouter.class);
+
+    // Zero on a primary, or on a standby that has replayed everything it received
+    private static final String LAG_SQL = "SELECT COALESCE(CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END, 0)::bigint";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final long readYourWritesNanos;
+    private final long maxLagMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    // Client -> System.nanoTime() until which its reads stay on the primary
+    private final Map<String, Long> pins = new ConcurrentHashMap<>();
+
+    private final Counter replicaReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public DataSourceRouter(HikariDataSource primary,
+                            List<HikariDataSource> replicas,
+                            ReplicaSelection selection,
+                            long readYourWritesMillis,
+                            long maxLagMillis,
+                            MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.selection = selection;
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        this.maxLagMillis = maxLagMillis;
+
+        this.replicaReads = readCounter(meterRegistry, "replica", "healthy");
+        this.pinnedReads = readCounter(meterRegistry, "primary", "pinned");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no_replica");
+        Gauge.builder("datasource.routing.replicas.healthy", this, DataSourceRouter::healthyReplicas)
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Connect to the primary, or to a replica if the current transaction is read-only
+     */
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            pinAfterCommit();
+            return primary.getConnection();
+        }
+        if (isPinned(RoutingClient.current())) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        // Each failure marks a replica down, so this tries every healthy replica at most once
+        for (Replica replica = select(); replica != null; replica = select()) {
+            try {
+                Connection connection = replica.pool.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Probe every replica, taking failing or lagging ones out of rotation and
+     * bringing recovered ones back. Also drops expired read-your-writes pins.
+     */
+    @Scheduled(fixedDelayString = "${datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            long lagMillis;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                lagMillis = resultSet.getLong(1);
+            } catch (SQLException e) {
+                markDown(replica, e.getMessage());
+                continue;
+            }
+            if (maxLagMillis > 0 && lagMillis > maxLagMillis) {
+                markDown(replica, "replication lag " + lagMillis + " ms");
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica {} is back in rotation", replica.pool.getPoolName());
+            }
+        }
+        long now = System.nanoTime();
+        pins.values().removeIf(until -> until - now <= 0);
+    }
+
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private Replica select() {
+        int count = replicas.size();
+        if (selection == ReplicaSelection.LEAST_LOADED) {
+            Replica best = null;
+            int bestLoad = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                int load = replica.load();
+                if (replica.healthy && load < bestLoad) {
+                    best = replica;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            Replica replica = replicas.get((start + i) % count);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void pinAfterCommit() {
+        if (readYourWritesNanos <= 0 || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String client = RoutingClient.current();
+        if (client != null) {
+            ApplicationUtils.runAfterCommit(() -> pins.put(client, System.nanoTime() + readYourWritesNanos));
+        }
+    }
+
+    private boolean isPinned(String client) {
+        if (client == null) {
+            return false;
+        }
+        Long until = pins.get(client);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.pool.getPoolName(), reason);
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Read-only transactions by the database they were sent to")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * Connections in use plus threads waiting for one; zero before the pool has started
+         */
+        private int load() {
+            HikariPoolMXBean pool = this.pool.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DataSource Routing Configuration
+ * Replaces the single spring.datasource pool with a primary pool plus one
+ * pool per replica URL, and sends @Transactional(readOnly = true) work to the
+ * replicas. Every pool takes its settings from spring.datasource.hikari.
+ * Only active when datasource.routing.enabled is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    public DataSourceRouter dataSourceRouter(DataSourceProperties properties,
+                                             Environment environment,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${datasource.routing.replica-urls:}") String[] replicaUrls,
+                                             @Value("${datasource.routing.replica-username:${spring.datasource.username:}}") String replicaUsername,
+                                             @Value("${datasource.routing.replica-password:${spring.datasource.password:}}") String replicaPassword,
+                                             @Value("${datasource.routing.replica-connection-timeout-ms:1000}") long replicaConnectionTimeoutMillis,
+                                             @Value("${datasource.routing.selection:round-robin}") String selection,
+                                             @Value("${datasource.routing.read-your-writes-ms:0}") long readYourWritesMillis,
+                                             @Value("${datasource.routing.max-lag-ms:0}") long maxLagMillis) {
+        HikariDataSource primary = pool(environment, meterRegistry, "primary", properties.determineUrl(),
+                properties.determineUsername(), properties.determinePassword(), properties.determineDriverClassName());
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = pool(environment, meterRegistry, "replica-" + (replicas.size() + 1), url.trim(),
+                    replicaUsername, replicaPassword, properties.determineDriverClassName());
+            // Fail over to the primary quickly, and keep the pool retrying while the replica is down
+            replica.setConnectionTimeout(replicaConnectionTimeoutMillis);
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        return new DataSourceRouter(primary, replicas, ReplicaSelection.from(selection),
+                readYourWritesMillis, maxLagMillis, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceRouter dataSourceRouter) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(dataSourceRouter));
+    }
+
+    @Bean
+    public RoutingClientFilter routingClientFilter(@Value("${datasource.routing.client-header:X-Client-Id}") String clientHeader) {
+        return new RoutingClientFilter(clientHeader);
+    }
+
+    private static HikariDataSource pool(Environment environment, MeterRegistry meterRegistry, String name,
+                                         String url, String username, String password, String driverClassName) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setDriverClassName(driverClassName);
+        // Boot only instruments pools it can unwrap from a DataSource bean, which these are not
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
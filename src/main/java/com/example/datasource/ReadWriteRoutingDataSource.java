@@ -0,0 +1,33 @@
+package com.example.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Read/Write Routing DataSource
+ * Exposes a {@link DataSourceRouter} as a DataSource. It must sit behind a
+ * LazyConnectionDataSourceProxy: a transaction only asks for its connection at
+ * the first statement, once its read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSourceRouter router;
+
+    public ReadWriteRoutingDataSource(DataSourceRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return router.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // As HikariDataSource does: every pool has its credentials fixed at configuration
+        throw new SQLFeatureNotSupportedException("Routed connections always use the configured credentials");
+    }
+}
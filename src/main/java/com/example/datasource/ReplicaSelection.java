@@ -0,0 +1,25 @@
+package com.example.datasource;
+
+import java.util.Locale;
+
+/**
+ * How a read-only transaction picks among the healthy replicas
+ */
+public enum ReplicaSelection {
+    /** Take turns across the replicas */
+    ROUND_ROBIN,
+    /** Pick the replica with the fewest active and waiting connections */
+    LEAST_LOADED;
+
+    /**
+     * Parse a configured value such as "round-robin" or "least-loaded"
+     * @throws IllegalArgumentException if the value names no strategy
+     */
+    public static ReplicaSelection from(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown replica selection: " + value);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.datasource;
+
+/**
+ * Routing Client
+ * Identifies the client the current request thread serves, so reads can be
+ * pinned to the primary for a while after that client wrote.
+ * Only set between {@link #set(String)} and {@link #clear()}.
+ */
+public final class RoutingClient {
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    private RoutingClient() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void set(String client) {
+        CLIENT.set(client);
+    }
+
+    /**
+     * @return the current client, or null outside a request
+     */
+    public static String current() {
+        return CLIENT.get();
+    }
+
+    public static void clear() {
+        CLIENT.remove();
+    }
+}
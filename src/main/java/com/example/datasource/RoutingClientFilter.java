@@ -0,0 +1,36 @@
+package com.example.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Routing Client Filter
+ * Tags each request with its client, taken from a configurable header and
+ * falling back to the remote address, for read-your-writes pinning.
+ */
+public class RoutingClientFilter extends OncePerRequestFilter {
+
+    private final String clientHeader;
+
+    public RoutingClientFilter(String clientHeader) {
+        this.clientHeader = clientHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String client = request.getHeader(clientHeader);
+        RoutingClient.set(client == null || client.isBlank() ? request.getRemoteAddr() : client);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoutingClient.clear();
+        }
+    }
+}
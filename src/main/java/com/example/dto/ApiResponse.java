@@ -0,0 +1,78 @@
+package com.example.dto;
+
+import com.example.ApplicationConstants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * API Response
+ * The {status, message, data, count} envelope. Written by a dedicated
+ * serializer with pre-encoded field names instead of Jackson's generic Map
+ * path; null data and count are left out.
+ * Envelopes without a payload are immutable and shared.
+ */
+@JsonSerialize(using = ApiResponse.Serializer.class)
+public record ApiResponse<T>(String status, String message, T data, Integer count) implements ResponseEnvelope {
+
+    public static final ApiResponse<Void> SUCCESS = message(ApplicationConstants.SUCCESS);
+    public static final ApiResponse<Void> DELETED = message(ApplicationConstants.DELETED);
+
+    /**
+     * Success envelope around a single object
+     */
+    public static <T> ApiResponse<T> success(String message, T data) {
+        return new ApiResponse<>(STATUS_SUCCESS, message, data, null);
+    }
+
+    /**
+     * Success envelope around a collection or map, with its size as count
+     */
+    public static <T> ApiResponse<T> success(String message, T data, int count) {
+        return new ApiResponse<>(STATUS_SUCCESS, message, data, count);
+    }
+
+    /**
+     * Success envelope around a list, with its size as count
+     */
+    public static <T> ApiResponse<List<T>> list(String message, List<T> data) {
+        return new ApiResponse<>(STATUS_SUCCESS, message, data, data.size());
+    }
+
+    /**
+     * Success envelope with a message only
+     */
+    public static ApiResponse<Void> message(String message) {
+        return new ApiResponse<>(STATUS_SUCCESS, message, null, null);
+    }
+
+    public static ApiResponse<Void> error(String message) {
+        return new ApiResponse<>(STATUS_ERROR, message, null, null);
+    }
+
+    static final class Serializer extends StdSerializer<ApiResponse<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(ApiResponse.class, false);
+        }
+
+        @Override
+        public void serialize(ApiResponse<?> value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(value);
+            EnvelopeFields.writeHead(generator, value.status(), value.message());
+            EnvelopeFields.writeData(generator, provider, value.data());
+            if (value.count() != null) {
+                generator.writeFieldName(EnvelopeFields.COUNT);
+                generator.writeNumber(value.count());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
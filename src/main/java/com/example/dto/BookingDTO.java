@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDTO {
+    private Long eventId;
+
+    private Long userId;
+
+    private Integer quantity;
+
+    private Integer available;
+}
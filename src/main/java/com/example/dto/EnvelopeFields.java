@@ -0,0 +1,59 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Envelope Fields
+ * Field names and status values of the response envelopes, encoded once,
+ * plus the writes shared by the envelope serializers
+ */
+final class EnvelopeFields {
+
+    static final SerializableString STATUS = new SerializedString("status");
+    static final SerializableString MESSAGE = new SerializedString("message");
+    static final SerializableString DATA = new SerializedString("data");
+    static final SerializableString COUNT = new SerializedString("count");
+    static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+    static final SerializableString CREATED = new SerializedString("created");
+    static final SerializableString FAILED = new SerializedString("failed");
+
+    private static final SerializableString SUCCESS_VALUE = new SerializedString(ResponseEnvelope.STATUS_SUCCESS);
+    private static final SerializableString ERROR_VALUE = new SerializedString(ResponseEnvelope.STATUS_ERROR);
+
+    private EnvelopeFields() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Write status and message, skipping a null message
+     */
+    static void writeHead(JsonGenerator generator, String status, String message) throws IOException {
+        generator.writeFieldName(STATUS);
+        if (ResponseEnvelope.STATUS_SUCCESS.equals(status)) {
+            generator.writeString(SUCCESS_VALUE);
+        } else if (ResponseEnvelope.STATUS_ERROR.equals(status)) {
+            generator.writeString(ERROR_VALUE);
+        } else {
+            generator.writeString(status);
+        }
+        if (message != null) {
+            generator.writeFieldName(MESSAGE);
+            generator.writeString(message);
+        }
+    }
+
+    /**
+     * Write the payload with the serializer Jackson already resolved for its class
+     */
+    static void writeData(JsonGenerator generator, SerializerProvider provider, Object data) throws IOException {
+        if (data != null) {
+            generator.writeFieldName(DATA);
+            provider.defaultSerializeValue(data, generator);
+        }
+    }
+}
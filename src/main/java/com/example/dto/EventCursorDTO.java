@@ -0,0 +1,19 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of the last event on a page of the event listing.
+ * Sent to clients as an opaque token, see ApplicationUtils#encodeCursor.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventCursorDTO {
+    private LocalDateTime hostedFrom;
+    private Long id;
+}
@@ -0,0 +1,18 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single row of a bulk event import
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportResultDTO {
+    private Integer row;
+    private String status;
+    private Long id;
+    private String message;
+}
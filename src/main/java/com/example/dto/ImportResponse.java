@@ -0,0 +1,46 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Import Response
+ * Per-row results of a bulk import with created and failed totals
+ */
+@JsonSerialize(using = ImportResponse.Serializer.class)
+public record ImportResponse<T>(String status, String message, List<T> data, int count, long created, long failed)
+        implements ResponseEnvelope {
+
+    public static <T> ImportResponse<T> of(String message, List<T> results, long created) {
+        return new ImportResponse<>(STATUS_SUCCESS, message, results, results.size(), created, results.size() - created);
+    }
+
+    static final class Serializer extends StdSerializer<ImportResponse<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(ImportResponse.class, false);
+        }
+
+        @Override
+        public void serialize(ImportResponse<?> value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(value);
+            EnvelopeFields.writeHead(generator, value.status(), value.message());
+            EnvelopeFields.writeData(generator, provider, value.data());
+            generator.writeFieldName(EnvelopeFields.COUNT);
+            generator.writeNumber(value.count());
+            generator.writeFieldName(EnvelopeFields.CREATED);
+            generator.writeNumber(value.created());
+            generator.writeFieldName(EnvelopeFields.FAILED);
+            generator.writeNumber(value.failed());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Page Response
+ * One page of a cursor-paged listing. nextCursor is always written,
+ * as null on the last page.
+ */
+@JsonSerialize(using = PageResponse.Serializer.class)
+public record PageResponse<T>(String status, String message, List<T> data, int count, String nextCursor)
+        implements ResponseEnvelope {
+
+    public static <T> PageResponse<T> of(String message, List<T> data, String nextCursor) {
+        return new PageResponse<>(STATUS_SUCCESS, message, data, data.size(), nextCursor);
+    }
+
+    static final class Serializer extends StdSerializer<PageResponse<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(PageResponse.class, false);
+        }
+
+        @Override
+        public void serialize(PageResponse<?> value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(value);
+            EnvelopeFields.writeHead(generator, value.status(), value.message());
+            EnvelopeFields.writeData(generator, provider, value.data());
+            generator.writeFieldName(EnvelopeFields.COUNT);
+            generator.writeNumber(value.count());
+            generator.writeFieldName(EnvelopeFields.NEXT_CURSOR);
+            if (value.nextCursor() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeString(value.nextCursor());
+            }
+            generator.writeEndObject();
+        }
+    }
+}
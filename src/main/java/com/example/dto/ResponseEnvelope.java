@@ -0,0 +1,16 @@
+package com.example.dto;
+
+/**
+ * Response Envelope
+ * Common type of the {status, message, ...} JSON wrappers, so a controller
+ * can return a success or an error envelope from the same method
+ */
+public sealed interface ResponseEnvelope permits ApiResponse, PageResponse, ImportResponse {
+
+    String STATUS_SUCCESS = "success";
+    String STATUS_ERROR = "error";
+
+    String status();
+
+    String message();
+}
@@ -0,0 +1,24 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldDTO {
+    private String holdId;
+
+    private Long eventId;
+
+    private Long userId;
+
+    private Integer quantity;
+
+    private Instant expiresAt;
+
+    private Integer available;
+}
@@ -0,0 +1,22 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomDTO {
+    private Long eventId;
+
+    private String queueToken;
+
+    private Long position;
+
+    private String admissionToken;
+
+    private Instant admissionExpiresAt;
+}
@@ -0,0 +1,20 @@
+package com.example.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitingRoomStatsDTO {
+    private Long eventId;
+
+    private Double ratePerSecond;
+
+    private Long burst;
+
+    private Long joined;
+
+    private Long admitted;
+}
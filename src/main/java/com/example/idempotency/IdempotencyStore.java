@@ -0,0 +1,265 @@
+package com.example.idempotency;
+
+import com.example.ApplicationConstants;
+import com.example.cache.CacheRegistry;
+import com.example.cache.ReferenceCache;
+import com.example.dao.impl.IdempotencyKeyDaoImpl;
+import com.example.dto.ApiResponse;
+import com.example.dto.ResponseEnvelope;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency Store
+ * Runs a request sent with an Idempotency-Key once and answers every retry
+ * with the stored status and body, without calling the service again.
+ * Recent responses are kept in a bounded in-memory cache, all of them in
+ * idempotency_keys for idempotency.ttl-hours, so retries reaching another
+ * instance or arriving after a restart are replayed as well.
+ * Duplicates arriving while the first request still runs wait for it on this
+ * instance, and get 409 if it runs on another one.
+ * The response is written in the same transaction as the work, so a request
+ * that committed is never run twice. Responses whose work rolled back, and
+ * 5xx responses, are not kept: a retry runs again.
+ * A key reused with a different request body gets 422.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyKeyDaoImpl idempotencyKeyDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ReferenceCache<String, StoredResponse> responses;
+    // First request of each key being processed here; null result = running on another instance
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final long claimTimeoutMillis;
+
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter collapsed;
+    private final Counter inProgress;
+    private final Counter mismatched;
+
+    @Autowired
+    public IdempotencyStore(IdempotencyKeyDaoImpl idempotencyKeyDao,
+                            TransactionTemplate transactionTemplate,
+                            ObjectMapper objectMapper,
+                            CacheRegistry cacheRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+                            @Value("${idempotency.claim-timeout-seconds:30}") long claimTimeoutSeconds) {
+        this.idempotencyKeyDao = idempotencyKeyDao;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.responses = cacheRegistry.create("idempotency", maxEntries, TimeUnit.HOURS.toSeconds(ttlHours));
+        this.ttlMillis = TimeUnit.HOURS.toMillis(ttlHours);
+        this.claimTimeoutMillis = TimeUnit.SECONDS.toMillis(claimTimeoutSeconds);
+
+        this.executed = requestCounter(meterRegistry, "executed");
+        this.replayed = requestCounter(meterRegistry, "replayed");
+        this.collapsed = requestCounter(meterRegistry, "collapsed");
+        this.inProgress = requestCounter(meterRegistry, "in_progress");
+        this.mismatched = requestCounter(meterRegistry, "mismatched");
+    }
+
+    /**
+     * Run a request at most once per idempotency key
+     * @param scope the endpoint, so the same key can be used on different endpoints
+     * @param key the Idempotency-Key header, may be null to run the request unconditionally
+     * @param request the request body, fingerprinted to detect a key reused for another request
+     * @param action produces the response; runs in a transaction the response is stored in
+     * @return the response of the first request with this key
+     */
+    public ResponseEntity<?> execute(String scope, String key, Object request,
+                                     Supplier<ResponseEntity<ResponseEnvelope>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return errorResponse(HttpStatus.BAD_REQUEST, ApplicationConstants.IDEMPOTENCY_KEY_TOO_LONG);
+        }
+        String fingerprint = fingerprint(request);
+        String cacheKey = scope + ':' + key;
+
+        StoredResponse stored = responses.getIfPresent(cacheKey);
+        if (stored != null) {
+            return replay(stored, fingerprint);
+        }
+
+        CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> first = inFlight.putIfAbsent(cacheKey, running);
+        if (first != null) {
+            collapsed.increment();
+            return await(first, fingerprint);
+        }
+        try {
+            long now = System.currentTimeMillis();
+            if (!idempotencyKeyDao.claim(scope, key, fingerprint, now, now - claimTimeoutMillis)) {
+                // Already answered, or being processed by another instance
+                StoredResponse found = idempotencyKeyDao.find(scope, key);
+                if (found != null && found.status() == 0) {
+                    found = null;
+                }
+                if (found != null) {
+                    responses.put(cacheKey, found);
+                }
+                running.complete(found);
+                return replay(found, fingerprint);
+            }
+            Outcome outcome = run(scope, key, fingerprint, action);
+            if (outcome.kept()) {
+                responses.put(cacheKey, outcome.response());
+            }
+            running.complete(outcome.response());
+            executed.increment();
+            return respond(outcome.response(), false);
+        } catch (RuntimeException e) {
+            running.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, running);
+        }
+    }
+
+    /**
+     * Drop stored responses older than idempotency.ttl-hours
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = idempotencyKeyDao.deleteExpired(System.currentTimeMillis() - ttlMillis);
+        if (deleted > 0) {
+            log.debug("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+
+    /**
+     * Run the action and store its response with the work it did
+     */
+    private Outcome run(String scope, String key, String fingerprint,
+                        Supplier<ResponseEntity<ResponseEnvelope>> action) {
+        Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(status -> {
+                ResponseEntity<ResponseEnvelope> entity = action.get();
+                StoredResponse response = new StoredResponse(fingerprint, entity.getStatusCode().value(),
+                        serialize(entity.getBody()));
+                // Work that rolled back or failed may succeed on a retry, so it is not kept
+                if (status.isRollbackOnly() || entity.getStatusCode().is5xxServerError()) {
+                    status.setRollbackOnly();
+                    return new Outcome(response, false);
+                }
+                idempotencyKeyDao.complete(scope, key, response.status(), response.body());
+                return new Outcome(response, true);
+            });
+        } catch (RuntimeException e) {
+            idempotencyKeyDao.release(scope, key);
+            throw e;
+        }
+        if (!outcome.kept()) {
+            idempotencyKeyDao.release(scope, key);
+        }
+        return outcome;
+    }
+
+    private ResponseEntity<?> await(CompletableFuture<StoredResponse> first, String fingerprint) {
+        try {
+            return replay(first.get(claimTimeoutMillis, TimeUnit.MILLISECONDS), fingerprint);
+        } catch (TimeoutException e) {
+            return replay(null, fingerprint);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return replay(null, fingerprint);
+        } catch (ExecutionException e) {
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Request failed: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Answer a repeated request
+     * @param stored the first request's response, or null if it has not finished yet
+     */
+    private ResponseEntity<?> replay(StoredResponse stored, String fingerprint) {
+        if (stored == null) {
+            inProgress.increment();
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.error(ApplicationConstants.IDEMPOTENCY_KEY_IN_PROGRESS));
+        }
+        if (!stored.fingerprint().equals(fingerprint)) {
+            mismatched.increment();
+            return errorResponse(HttpStatus.UNPROCESSABLE_ENTITY, ApplicationConstants.IDEMPOTENCY_KEY_REUSED);
+        }
+        replayed.increment();
+        return respond(stored, true);
+    }
+
+    private static ResponseEntity<?> respond(StoredResponse response, boolean replayed) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (replayed) {
+            builder.header(REPLAYED_HEADER, "true");
+        }
+        return builder.body(response.body());
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(serialize(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response", e);
+        }
+    }
+
+    private static ResponseEntity<ResponseEnvelope> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(ApiResponse.error(message));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("idempotency.requests")
+                .description("Requests sent with an Idempotency-Key, by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Outcome(StoredResponse response, boolean kept) {
+    }
+}
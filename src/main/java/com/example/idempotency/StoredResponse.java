@@ -0,0 +1,10 @@
+package com.example.idempotency;
+
+/**
+ * Stored Response
+ * Status and serialized body of the request that first used an idempotency
+ * key, with the fingerprint of its body so a reuse for a different request
+ * can be told apart from a retry.
+ */
+public record StoredResponse(String fingerprint, int status, byte[] body) {
+}
@@ -0,0 +1,332 @@
+package com.example.index;
+
+import com.example.entity.Events;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event Interval Index
+ * In-memory index of active events by their hostedFrom/hostedTo interval,
+ * answering "which events overlap this window" without touching the database.
+ * Events are kept in one bucket per calendar day they run on, each bucket
+ * sorted by start time, so a query only reads the days in its window.
+ * Events running longer than events.interval.max-bucketed-days are kept in a
+ * single separate list instead of being copied into every day.
+ * Built from the database at startup and kept current as events are inserted.
+ */
+@Component
+public class EventIntervalIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventIntervalIndex.class);
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private static final String LOAD_SQL =
+            "SELECT id, hosted_from, hosted_to FROM events WHERE status = 1";
+
+    private final int maxBucketedDays;
+    private final RebuildableIndex<Buckets> buckets;
+
+    @Autowired
+    public EventIntervalIndex(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${events.interval.max-bucketed-days:7}") int maxBucketedDays,
+                              @Value("${events.interval.load-fetch-size:5000}") int loadFetchSize) {
+        this.maxBucketedDays = maxBucketedDays;
+        this.buckets = new RebuildableIndex<>(jdbcTemplate, transactionTemplate, loadFetchSize, new Buckets());
+    }
+
+    /**
+     * Load every active event into a fresh index and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long[] loaded = {0};
+        buckets.rebuild(() -> {
+            Map<Long, BucketBuilder> builders = new HashMap<>();
+            BucketBuilder longEvents = new BucketBuilder();
+            buckets.load(LOAD_SQL, resultSet -> {
+                long id = resultSet.getLong("id");
+                long from = toSeconds(resultSet.getTimestamp("hosted_from").toLocalDateTime());
+                long to = Math.max(from, toSeconds(resultSet.getTimestamp("hosted_to").toLocalDateTime()));
+                long firstDay = day(from);
+                long lastDay = day(to);
+                if (lastDay - firstDay >= maxBucketedDays) {
+                    longEvents.add(id, from, to);
+                } else {
+                    for (long day = firstDay; day <= lastDay; day++) {
+                        builders.computeIfAbsent(day, key -> new BucketBuilder()).add(id, from, to);
+                    }
+                }
+                loaded[0]++;
+            });
+
+            Buckets fresh = new Buckets();
+            builders.forEach((day, builder) -> fresh.bucket(day).addAll(builder));
+            fresh.longEvents.addAll(longEvents);
+            return fresh;
+        });
+        log.info("Event interval index built with {} events in {} ms",
+                loaded[0], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index a new event once the current transaction commits
+     * @param event the inserted event, with its ID set
+     */
+    public void add(Events event) {
+        if (event.getStatus() == null || event.getStatus() != 1
+                || event.getHostedFrom() == null || event.getHostedTo() == null) {
+            return;
+        }
+        long id = event.getId();
+        long from = toSeconds(event.getHostedFrom());
+        long to = Math.max(from, toSeconds(event.getHostedTo()));
+
+        buckets.apply(target -> insert(target, id, from, to));
+    }
+
+    public boolean isReady() {
+        return buckets.isReady();
+    }
+
+    /**
+     * Find active events running at any point in [from, to):
+     * hostedFrom before the end of the window and hostedTo at or after its start
+     * @param from start of the window, inclusive
+     * @param to end of the window, exclusive
+     * @param limit maximum number of IDs to return
+     * @return matching event IDs ordered by hostedFrom, then ID
+     */
+    public long[] findOverlapping(LocalDateTime from, LocalDateTime to, int limit) {
+        long fromSeconds = toSeconds(from);
+        long toSeconds = toSeconds(to);
+        if (toSeconds <= fromSeconds || limit <= 0) {
+            return new long[0];
+        }
+
+        Buckets current = buckets.current();
+        long fromDay = day(fromSeconds);
+        long firstDay = Math.max(fromDay, current.minDay.get());
+        long lastDay = Math.min(day(toSeconds - 1), current.maxDay.get());
+
+        long[] ids = new long[limit];
+        long[] starts = new long[limit];
+        int found = 0;
+
+        for (long day = firstDay; day <= lastDay && found < limit; day++) {
+            Bucket bucket = current.byDay.get(day);
+            if (bucket == null) {
+                continue;
+            }
+            Entries entries = bucket.entries;
+            for (int i = 0; i < entries.size && found < limit; i++) {
+                long start = entries.starts[i];
+                if (start >= toSeconds) {
+                    break;
+                }
+                // An event spanning several days is reported from its first day inside the window only
+                if (entries.ends[i] < fromSeconds || Math.max(day(start), fromDay) != day) {
+                    continue;
+                }
+                ids[found] = entries.ids[i];
+                starts[found] = start;
+                found++;
+            }
+        }
+
+        return mergeLongEvents(current.longEvents.entries, ids, starts, found, fromSeconds, toSeconds, limit);
+    }
+
+    /**
+     * Merge the matching long-running events into the day-bucket results, keeping start order
+     */
+    private static long[] mergeLongEvents(Entries longEvents, long[] ids, long[] starts, int found,
+                                          long fromSeconds, long toSeconds, int limit) {
+        long[] result = new long[limit];
+        int merged = 0;
+        int next = 0;
+        for (int i = 0; i < longEvents.size && merged < limit; i++) {
+            long start = longEvents.starts[i];
+            if (start >= toSeconds) {
+                break;
+            }
+            if (longEvents.ends[i] < fromSeconds) {
+                continue;
+            }
+            long id = longEvents.ids[i];
+            while (next < found && merged < limit
+                    && (starts[next] < start || (starts[next] == start && ids[next] < id))) {
+                result[merged++] = ids[next++];
+            }
+            if (merged < limit) {
+                result[merged++] = id;
+            }
+        }
+        while (next < found && merged < limit) {
+            result[merged++] = ids[next++];
+        }
+        return merged == limit ? result : Arrays.copyOf(result, merged);
+    }
+
+    private void insert(Buckets target, long id, long from, long to) {
+        long firstDay = day(from);
+        long lastDay = day(to);
+        if (lastDay - firstDay >= maxBucketedDays) {
+            target.longEvents.insert(id, from, to);
+            return;
+        }
+        for (long day = firstDay; day <= lastDay; day++) {
+            target.bucket(day).insert(id, from, to);
+        }
+    }
+
+    private static long toSeconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long day(long seconds) {
+        return Math.floorDiv(seconds, SECONDS_PER_DAY);
+    }
+
+    /**
+     * Day buckets plus the list of long-running events
+     */
+    private static final class Buckets {
+        private final ConcurrentHashMap<Long, Bucket> byDay = new ConcurrentHashMap<>();
+        private final Bucket longEvents = new Bucket();
+        private final AtomicLong minDay = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxDay = new AtomicLong(Long.MIN_VALUE);
+
+        private Bucket bucket(long day) {
+            Bucket bucket = byDay.computeIfAbsent(day, key -> new Bucket());
+            minDay.accumulateAndGet(day, Math::min);
+            maxDay.accumulateAndGet(day, Math::max);
+            return bucket;
+        }
+    }
+
+    /**
+     * Events sorted by (start, id). Readers use the published entries without locking.
+     */
+    private static final class Bucket {
+        private volatile Entries entries = Entries.EMPTY;
+
+        private synchronized void insert(long id, long from, long to) {
+            Entries current = entries;
+            int position = current.size;
+            while (position > 0 && (current.starts[position - 1] > from
+                    || (current.starts[position - 1] == from && current.ids[position - 1] >= id))) {
+                position--;
+            }
+            if (position < current.size && current.ids[position] == id && current.starts[position] == from) {
+                return;
+            }
+            Entries next = new Entries(current.size + 1);
+            next.copyFrom(current, 0, 0, position);
+            next.set(position, id, from, to);
+            next.copyFrom(current, position, position + 1, current.size - position);
+            entries = next;
+        }
+
+        private synchronized void addAll(BucketBuilder builder) {
+            Entries current = entries;
+            for (int i = 0; i < current.size; i++) {
+                builder.add(current.ids[i], current.starts[i], current.ends[i]);
+            }
+            entries = builder.build();
+        }
+    }
+
+    private static final class Entries {
+        private static final Entries EMPTY = new Entries(0);
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final int size;
+
+        private Entries(int size) {
+            this.ids = new long[size];
+            this.starts = new long[size];
+            this.ends = new long[size];
+            this.size = size;
+        }
+
+        private void set(int index, long id, long from, long to) {
+            ids[index] = id;
+            starts[index] = from;
+            ends[index] = to;
+        }
+
+        private void copyFrom(Entries source, int from, int to, int length) {
+            System.arraycopy(source.ids, from, ids, to, length);
+            System.arraycopy(source.starts, from, starts, to, length);
+            System.arraycopy(source.ends, from, ends, to, length);
+        }
+    }
+
+    /**
+     * Unsorted rows collected during a rebuild, sorted once at the end
+     */
+    private static final class BucketBuilder {
+        private long[] ids = new long[16];
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private int size;
+
+        private void add(long id, long from, long to) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            ids[size] = id;
+            starts[size] = from;
+            ends[size] = to;
+            size++;
+        }
+
+        private Entries build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(i -> starts[i]).thenComparingLong(i -> ids[i]));
+
+            Entries entries = new Entries(size);
+            int written = 0;
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                // Skip repeats, as Bucket.insert does
+                if (written > 0 && entries.ids[written - 1] == ids[row] && entries.starts[written - 1] == starts[row]) {
+                    continue;
+                }
+                entries.set(written++, ids[row], starts[row], ends[row]);
+            }
+            if (written == size) {
+                return entries;
+            }
+            Entries trimmed = new Entries(written);
+            trimmed.copyFrom(entries, 0, 0, written);
+            return trimmed;
+        }
+    }
+}
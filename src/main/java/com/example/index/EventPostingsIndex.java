@@ -0,0 +1,121 @@
+package com.example.index;
+
+import com.example.entity.Events;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event Postings Index
+ * IDs of active events per location and per category, each kept as a sorted
+ * long[] so filters combine by intersecting primitive arrays, with no
+ * per-event objects or boxing.
+ * Built from the database at startup and kept current as events are inserted.
+ */
+@Component
+public class EventPostingsIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventPostingsIndex.class);
+
+    private static final String LOAD_SQL =
+            "SELECT id, location_id, category_id FROM events WHERE status = 1 ORDER BY id";
+
+    private final RebuildableIndex<Postings> postings;
+
+    @Autowired
+    public EventPostingsIndex(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              @Value("${events.postings.load-fetch-size:5000}") int loadFetchSize) {
+        this.postings = new RebuildableIndex<>(jdbcTemplate, transactionTemplate, loadFetchSize, new Postings());
+    }
+
+    /**
+     * Load every active event into a fresh index and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Postings fresh = postings.rebuild(() -> {
+            Postings loaded = new Postings();
+            // Rows come in ID order, so every add is an append
+            postings.load(LOAD_SQL, resultSet -> {
+                loaded.add(resultSet.getLong("id"),
+                        resultSet.getLong("location_id"),
+                        resultSet.getLong("category_id"));
+            });
+            loaded.byLocation.values().forEach(LongPostings::trim);
+            loaded.byCategory.values().forEach(LongPostings::trim);
+            return loaded;
+        });
+        log.info("Event postings index built for {} locations and {} categories in {} ms",
+                fresh.byLocation.size(), fresh.byCategory.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index a new event once the current transaction commits
+     * @param event the inserted event, with its ID set
+     */
+    public void add(Events event) {
+        if (event.getStatus() == null || event.getStatus() != 1) {
+            return;
+        }
+        long id = event.getId();
+        long locationId = event.getLocationId();
+        long categoryId = event.getCategoryId();
+
+        postings.apply(target -> target.add(id, locationId, categoryId));
+    }
+
+    /**
+     * Find active events in a location and/or category
+     * @param locationId location to match, or null for any
+     * @param categoryId category to match, or null for any
+     * @param afterId only return IDs greater than this, or null to start from the beginning
+     * @param limit maximum number of IDs to return
+     * @return matching event IDs in ascending order
+     * @throws IllegalStateException if the index is still loading
+     */
+    public long[] find(Long locationId, Long categoryId, Long afterId, int limit) {
+        if (!postings.isReady()) {
+            throw new IllegalStateException("Event filter index is still loading");
+        }
+        Postings current = postings.current();
+        List<LongPostings.Snapshot> lists = new ArrayList<>(2);
+        if (locationId != null) {
+            LongPostings location = current.byLocation.get(locationId);
+            if (location == null) {
+                return new long[0];
+            }
+            lists.add(location.snapshot());
+        }
+        if (categoryId != null) {
+            LongPostings category = current.byCategory.get(categoryId);
+            if (category == null) {
+                return new long[0];
+            }
+            lists.add(category.snapshot());
+        }
+        long after = afterId == null ? Long.MIN_VALUE : afterId;
+        return LongPostings.intersect(lists.toArray(new LongPostings.Snapshot[0]), after, id -> true, limit);
+    }
+
+    private static final class Postings {
+        private final ConcurrentHashMap<Long, LongPostings> byLocation = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, LongPostings> byCategory = new ConcurrentHashMap<>();
+
+        private void add(long id, long locationId, long categoryId) {
+            byLocation.computeIfAbsent(locationId, key -> new LongPostings()).add(id);
+            byCategory.computeIfAbsent(categoryId, key -> new LongPostings()).add(id);
+        }
+    }
+}
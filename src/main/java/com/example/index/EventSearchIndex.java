@@ -0,0 +1,219 @@
+package com.example.index;
+
+import com.example.entity.Events;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Event Search Index
+ * In-memory inverted index from the words in an event's name, venue and
+ * description to the IDs of active events containing them.
+ * Every query word must match; the last one is matched as a prefix so
+ * results can be shown while the user is still typing.
+ * Built from the database at startup and kept current as events are inserted.
+ */
+@Component
+public class EventSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String LOAD_SQL =
+            "SELECT id, name, venue, description FROM events WHERE status = 1 ORDER BY id";
+
+    private final int maxPrefixTerms;
+    private final RebuildableIndex<ConcurrentSkipListMap<String, LongPostings>> terms;
+
+    @Autowired
+    public EventSearchIndex(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${events.search.max-prefix-terms:256}") int maxPrefixTerms,
+                            @Value("${events.search.load-fetch-size:5000}") int loadFetchSize) {
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.terms = new RebuildableIndex<>(jdbcTemplate, transactionTemplate, loadFetchSize, new ConcurrentSkipListMap<>());
+    }
+
+    /**
+     * Load every active event into a fresh index and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        ConcurrentSkipListMap<String, LongPostings> fresh = terms.rebuild(() -> {
+            ConcurrentSkipListMap<String, LongPostings> loaded = new ConcurrentSkipListMap<>();
+            terms.load(LOAD_SQL, resultSet -> {
+                index(loaded, resultSet.getLong("id"),
+                        resultSet.getString("name"),
+                        resultSet.getString("venue"),
+                        resultSet.getString("description"));
+            });
+            loaded.values().forEach(LongPostings::trim);
+            return loaded;
+        });
+        log.info("Event search index built with {} terms in {} ms",
+                fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index a new event once the current transaction commits
+     * @param event the inserted event, with its ID set
+     */
+    public void add(Events event) {
+        if (event.getStatus() == null || event.getStatus() != 1) {
+            return;
+        }
+        long id = event.getId();
+        String name = event.getName();
+        String venue = event.getVenue();
+        String description = event.getDescription();
+
+        terms.apply(target -> index(target, id, name, venue, description));
+    }
+
+    /**
+     * Find events matching every word of a query, the last word as a prefix
+     * @param query free text typed by the user
+     * @param limit maximum number of IDs to return
+     * @return matching event IDs in ascending order
+     * @throws IllegalStateException if the index is still loading
+     */
+    public long[] search(String query, int limit) {
+        if (!terms.isReady()) {
+            throw new IllegalStateException("Search index is still loading");
+        }
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new long[0];
+        }
+
+        ConcurrentSkipListMap<String, LongPostings> current = terms.current();
+        String prefix = words.get(words.size() - 1);
+        List<String> exact = words.subList(0, words.size() - 1);
+
+        List<LongPostings.Snapshot> required = new ArrayList<>();
+        for (String word : exact) {
+            LongPostings postings = current.get(word);
+            if (postings == null) {
+                return new long[0];
+            }
+            required.add(postings.snapshot());
+        }
+
+        List<LongPostings.Snapshot> prefixMatches = new ArrayList<>();
+        NavigableMap<String, LongPostings> range = current.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+        for (LongPostings postings : range.values()) {
+            prefixMatches.add(postings.snapshot());
+            if (prefixMatches.size() == maxPrefixTerms) {
+                break;
+            }
+        }
+        if (prefixMatches.isEmpty()) {
+            return new long[0];
+        }
+
+        if (required.isEmpty()) {
+            return union(prefixMatches, limit);
+        }
+
+        int smallestRequired = Integer.MAX_VALUE;
+        for (LongPostings.Snapshot postings : required) {
+            smallestRequired = Math.min(smallestRequired, postings.size());
+        }
+        long prefixTotal = 0;
+        for (LongPostings.Snapshot postings : prefixMatches) {
+            prefixTotal += postings.size();
+        }
+
+        if (prefixMatches.size() == 1 || prefixTotal <= smallestRequired) {
+            // One word or a rare prefix: merge its lists and intersect them with the exact words
+            required.add(prefixMatches.size() == 1
+                    ? prefixMatches.get(0)
+                    : LongPostings.snapshotOf(union(prefixMatches, (int) prefixTotal)));
+            return LongPostings.intersect(required.toArray(new LongPostings.Snapshot[0]), limit);
+        }
+
+        // Common prefix over many words: walk the exact-word matches and probe the prefix lists
+        return LongPostings.intersect(required.toArray(new LongPostings.Snapshot[0]), id -> {
+            for (LongPostings.Snapshot postings : prefixMatches) {
+                if (postings.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }, limit);
+    }
+
+    public int getTermCount() {
+        return terms.current().size();
+    }
+
+    /**
+     * Split text into lower-case words
+     */
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static void index(Map<String, LongPostings> target, long id, String... fields) {
+        for (String field : fields) {
+            for (String word : tokenize(field)) {
+                target.computeIfAbsent(word, key -> new LongPostings()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Merge several postings lists, keeping the first limit distinct IDs
+     */
+    private static long[] union(List<LongPostings.Snapshot> lists, int limit) {
+        // Heap entries are {list, position}, ordered by the ID at that position
+        PriorityQueue<int[]> heap = new PriorityQueue<>(lists.size(),
+                (a, b) -> Long.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int list = 0; list < lists.size(); list++) {
+            if (lists.get(list).size() > 0) {
+                heap.add(new int[]{list, 0});
+            }
+        }
+
+        long[] result = new long[limit];
+        int found = 0;
+        while (!heap.isEmpty() && found < limit) {
+            int[] head = heap.poll();
+            long id = lists.get(head[0]).get(head[1]);
+            if (found == 0 || result[found - 1] != id) {
+                result[found++] = id;
+            }
+            if (++head[1] < lists.get(head[0]).size()) {
+                heap.add(head);
+            }
+        }
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+}
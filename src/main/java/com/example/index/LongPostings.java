@@ -0,0 +1,205 @@
+package com.example.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.LongPredicate;
+
+/**
+ * Long Postings
+ * Sorted set of event IDs kept in a primitive long[], the building block of
+ * the in-memory event indexes.
+ * Writers are serialized; readers work on an immutable snapshot without
+ * locking, so a search never sees a half-applied insert.
+ */
+public final class LongPostings {
+
+    private static final long[] EMPTY = new long[0];
+
+    private volatile Snapshot snapshot = new Snapshot(EMPTY, 0);
+
+    /**
+     * Add an ID, keeping the set sorted. IDs usually arrive in ascending order
+     * and are appended in place; an older ID is inserted into a copy.
+     * @return true if the ID was not present yet
+     */
+    public synchronized boolean add(long id) {
+        Snapshot current = snapshot;
+        long[] ids = current.ids;
+        int size = current.size;
+
+        if (size == 0 || ids[size - 1] < id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size + (size >> 1)));
+            }
+            // Slots past size are invisible to readers of the current snapshot
+            ids[size] = id;
+            snapshot = new Snapshot(ids, size + 1);
+            return true;
+        }
+
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        int insertAt = -position - 1;
+        long[] copy = new long[Math.max(ids.length, size + 1)];
+        System.arraycopy(ids, 0, copy, 0, insertAt);
+        copy[insertAt] = id;
+        System.arraycopy(ids, insertAt, copy, insertAt + 1, size - insertAt);
+        snapshot = new Snapshot(copy, size + 1);
+        return true;
+    }
+
+    /**
+     * Remove an ID
+     * @return true if the ID was present
+     */
+    public synchronized boolean remove(long id) {
+        Snapshot current = snapshot;
+        int position = Arrays.binarySearch(current.ids, 0, current.size, id);
+        if (position < 0) {
+            return false;
+        }
+        long[] copy = new long[current.ids.length];
+        System.arraycopy(current.ids, 0, copy, 0, position);
+        System.arraycopy(current.ids, position + 1, copy, position, current.size - position - 1);
+        snapshot = new Snapshot(copy, current.size - 1);
+        return true;
+    }
+
+    /**
+     * Drop spare capacity, called once a bulk load is done
+     */
+    public synchronized void trim() {
+        Snapshot current = snapshot;
+        if (current.ids.length != current.size) {
+            snapshot = new Snapshot(Arrays.copyOf(current.ids, current.size), current.size);
+        }
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    /**
+     * Wrap an already sorted, duplicate-free array as a snapshot
+     * @param sortedIds the IDs, not copied
+     */
+    public static Snapshot snapshotOf(long[] sortedIds) {
+        return new Snapshot(sortedIds, sortedIds.length);
+    }
+
+    /**
+     * Intersect several postings lists, smallest first so the work is bounded by the rarest one
+     * @param lists the lists to intersect
+     * @param limit stop after this many matches
+     * @return matching IDs in ascending order
+     */
+    public static long[] intersect(Snapshot[] lists, int limit) {
+        return intersect(lists, Long.MIN_VALUE, id -> true, limit);
+    }
+
+    /**
+     * Intersect several postings lists, keeping only IDs accepted by a filter.
+     * Stops as soon as limit matches are found, so a cheap filter over huge lists stays cheap.
+     * @param lists the lists to intersect
+     * @param filter extra check for each ID present in every list
+     * @param limit stop after this many matches
+     * @return matching IDs in ascending order
+     */
+    public static long[] intersect(Snapshot[] lists, LongPredicate filter, int limit) {
+        return intersect(lists, Long.MIN_VALUE, filter, limit);
+    }
+
+    /**
+     * Intersect several postings lists, starting after a given ID
+     * @param lists the lists to intersect
+     * @param after only IDs greater than this are returned, for keyset paging
+     * @param filter extra check for each ID present in every list
+     * @param limit stop after this many matches
+     * @return matching IDs in ascending order
+     */
+    public static long[] intersect(Snapshot[] lists, long after, LongPredicate filter, int limit) {
+        if (lists.length == 0) {
+            return EMPTY;
+        }
+        Snapshot[] ordered = lists.clone();
+        Arrays.sort(ordered, Comparator.comparingInt(Snapshot::size));
+
+        Snapshot smallest = ordered[0];
+        int first = after == Long.MIN_VALUE ? 0 : smallest.seek(after + 1, 0);
+        long[] result = new long[Math.min(smallest.size - first, limit)];
+        int[] cursors = new int[ordered.length];
+        int found = 0;
+
+        candidates:
+        for (int i = first; i < smallest.size && found < result.length; i++) {
+            long id = smallest.ids[i];
+            for (int list = 1; list < ordered.length; list++) {
+                int position = ordered[list].seek(id, cursors[list]);
+                cursors[list] = position;
+                if (position == ordered[list].size) {
+                    break candidates;
+                }
+                if (ordered[list].ids[position] != id) {
+                    continue candidates;
+                }
+            }
+            if (filter.test(id)) {
+                result[found++] = id;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Read-only view of a postings list at one point in time
+     */
+    public static final class Snapshot {
+        private final long[] ids;
+        private final int size;
+
+        private Snapshot(long[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long get(int index) {
+            return ids[index];
+        }
+
+        public boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        /**
+         * Find the first position at or after from holding an ID >= target.
+         * Gallops forward before binary searching, so walking a long list in
+         * step with a short one skips most of it.
+         * @return the position, or size if every remaining ID is smaller
+         */
+        public int seek(long target, int from) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && ids[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            if (high >= size) {
+                high = size;
+            }
+            int position = Arrays.binarySearch(ids, low, high, target);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.index;
+
+import com.example.util.ApplicationUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Rebuildable Index
+ * Holds the state of an in-memory index that is loaded from the database and
+ * then kept current by changes applied once their transaction commits.
+ * A rebuild loads fresh state while the old one keeps serving; changes
+ * committed during the load go to the old state and are also queued, then
+ * replayed onto the fresh state under the same lock as the swap, so none are
+ * lost. Changes must be idempotent, as the load may already have seen one.
+ * @param <S> the index state
+ */
+final class RebuildableIndex<S> {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int loadFetchSize;
+    // One rebuild at a time, so each one replays every change committed during its load
+    private final Object rebuildLock = new Object();
+
+    private volatile S current;
+    // Changes committed while a rebuild is loading; guarded by this
+    private List<Consumer<S>> rebuilding;
+    private volatile boolean ready;
+
+    /**
+     * @param initial state served until the first rebuild
+     */
+    RebuildableIndex(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int loadFetchSize, S initial) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.loadFetchSize = loadFetchSize;
+        this.current = initial;
+    }
+
+    /**
+     * Build fresh state, replay the changes committed meanwhile and swap it in
+     * @param load builds the fresh state, typically through {@link #load}
+     * @return the state swapped in
+     */
+    S rebuild(Supplier<S> load) {
+        synchronized (rebuildLock) {
+            List<Consumer<S>> pending = new ArrayList<>();
+            synchronized (this) {
+                rebuilding = pending;
+            }
+            try {
+                S fresh = load.get();
+                synchronized (this) {
+                    pending.forEach(change -> change.accept(fresh));
+                    current = fresh;
+                    ready = true;
+                }
+                return fresh;
+            } finally {
+                synchronized (this) {
+                    rebuilding = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stream the rows of a query to a handler. Runs in a transaction so the
+     * driver reads with a cursor, loadFetchSize rows at a time.
+     */
+    void load(String sql, RowCallbackHandler rowHandler) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(loadFetchSize);
+            return statement;
+        }, rowHandler));
+    }
+
+    /**
+     * Apply a change to the state once the current transaction commits,
+     * and to the state being rebuilt, if any
+     */
+    void apply(Consumer<S> change) {
+        ApplicationUtils.runAfterCommit(() -> {
+            synchronized (this) {
+                change.accept(current);
+                if (rebuilding != null) {
+                    rebuilding.add(change);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the state currently served
+     */
+    S current() {
+        return current;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.index;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted Terms
+ * (term, ID) pairs sorted by term, packed into one byte[] of UTF-8 terms plus
+ * offset and ID arrays, so millions of entries cost a few bytes of overhead
+ * each and a prefix lookup is one binary search followed by a sequential scan.
+ * Changes go to small sorted add/remove lists next to the packed base and are
+ * folded into a new base once there are more than maxPending of them.
+ * Writers are serialized; readers work on an immutable snapshot without locking.
+ */
+public final class SortedTerms {
+
+    private static final int[] NO_POSITIONS = new int[0];
+    private static final byte[][] NO_TERMS = new byte[0][];
+    private static final long[] NO_IDS = new long[0];
+
+    private final int maxPending;
+    private volatile Snapshot snapshot;
+
+    public SortedTerms(int maxPending) {
+        this(maxPending, Base.EMPTY);
+    }
+
+    private SortedTerms(int maxPending, Base base) {
+        this.maxPending = maxPending;
+        this.snapshot = new Snapshot(base, NO_POSITIONS, NO_TERMS, NO_IDS);
+    }
+
+    /**
+     * Add a (term, ID) pair
+     * @return true if the pair was not present yet
+     */
+    public synchronized boolean add(String term, long id) {
+        byte[] key = encode(term);
+        Snapshot current = snapshot;
+
+        int position = current.base.lowerBound(key, id);
+        if (current.base.matches(position, key, id)) {
+            int removedAt = Arrays.binarySearch(current.removed, position);
+            if (removedAt < 0) {
+                return false;
+            }
+            publish(new Snapshot(current.base, without(current.removed, removedAt),
+                    current.addedTerms, current.addedIds));
+            return true;
+        }
+
+        int addedAt = lowerBound(current.addedTerms, current.addedIds, key, id);
+        if (addedAt < current.addedIds.length && current.addedIds[addedAt] == id
+                && Arrays.equals(current.addedTerms[addedAt], key)) {
+            return false;
+        }
+        byte[][] terms = new byte[current.addedTerms.length + 1][];
+        long[] ids = new long[current.addedIds.length + 1];
+        System.arraycopy(current.addedTerms, 0, terms, 0, addedAt);
+        System.arraycopy(current.addedIds, 0, ids, 0, addedAt);
+        terms[addedAt] = key;
+        ids[addedAt] = id;
+        System.arraycopy(current.addedTerms, addedAt, terms, addedAt + 1, current.addedTerms.length - addedAt);
+        System.arraycopy(current.addedIds, addedAt, ids, addedAt + 1, current.addedIds.length - addedAt);
+        publish(new Snapshot(current.base, current.removed, terms, ids));
+        return true;
+    }
+
+    /**
+     * Remove a (term, ID) pair
+     * @return true if the pair was present
+     */
+    public synchronized boolean remove(String term, long id) {
+        byte[] key = encode(term);
+        Snapshot current = snapshot;
+
+        int addedAt = lowerBound(current.addedTerms, current.addedIds, key, id);
+        if (addedAt < current.addedIds.length && current.addedIds[addedAt] == id
+                && Arrays.equals(current.addedTerms[addedAt], key)) {
+            byte[][] terms = new byte[current.addedTerms.length - 1][];
+            long[] ids = new long[current.addedIds.length - 1];
+            System.arraycopy(current.addedTerms, 0, terms, 0, addedAt);
+            System.arraycopy(current.addedIds, 0, ids, 0, addedAt);
+            System.arraycopy(current.addedTerms, addedAt + 1, terms, addedAt, terms.length - addedAt);
+            System.arraycopy(current.addedIds, addedAt + 1, ids, addedAt, ids.length - addedAt);
+            publish(new Snapshot(current.base, current.removed, terms, ids));
+            return true;
+        }
+
+        int position = current.base.lowerBound(key, id);
+        if (!current.base.matches(position, key, id)) {
+            return false;
+        }
+        int removedAt = Arrays.binarySearch(current.removed, position);
+        if (removedAt >= 0) {
+            return false;
+        }
+        int insertAt = -removedAt - 1;
+        int[] removed = new int[current.removed.length + 1];
+        System.arraycopy(current.removed, 0, removed, 0, insertAt);
+        removed[insertAt] = position;
+        System.arraycopy(current.removed, insertAt, removed, insertAt + 1, current.removed.length - insertAt);
+        publish(new Snapshot(current.base, removed, current.addedTerms, current.addedIds));
+        return true;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current.base.size - current.removed.length + current.addedIds.length;
+    }
+
+    /**
+     * Find the IDs of terms starting with a prefix
+     * @param prefix the prefix to match
+     * @param limit maximum number of IDs to return
+     * @return matching IDs ordered by term, then ID
+     */
+    public long[] findByPrefix(String prefix, int limit) {
+        if (limit <= 0) {
+            return NO_IDS;
+        }
+        byte[] key = encode(prefix);
+        Snapshot current = snapshot;
+        Base base = current.base;
+        int[] removed = current.removed;
+        byte[][] addedTerms = current.addedTerms;
+        long[] addedIds = current.addedIds;
+
+        int position = base.lowerBound(key, Long.MIN_VALUE);
+        int removedAt = Arrays.binarySearch(removed, position);
+        int nextRemoved = removedAt >= 0 ? removedAt : -removedAt - 1;
+        int addedAt = lowerBound(addedTerms, addedIds, key, Long.MIN_VALUE);
+
+        long[] result = new long[limit];
+        int found = 0;
+        while (found < limit) {
+            if (nextRemoved < removed.length && removed[nextRemoved] == position) {
+                position++;
+                nextRemoved++;
+                continue;
+            }
+            boolean inBase = position < base.size && base.startsWith(position, key);
+            boolean inAdded = addedAt < addedIds.length && startsWith(addedTerms[addedAt], key);
+            if (!inBase && !inAdded) {
+                break;
+            }
+            if (inBase && (!inAdded || base.compare(position, addedTerms[addedAt], addedIds[addedAt]) < 0)) {
+                result[found++] = base.ids[position++];
+            } else {
+                result[found++] = addedIds[addedAt++];
+            }
+        }
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private void publish(Snapshot next) {
+        if (next.removed.length + next.addedIds.length > maxPending) {
+            next = new Snapshot(compact(next), NO_POSITIONS, NO_TERMS, NO_IDS);
+        }
+        snapshot = next;
+    }
+
+    /**
+     * Merge the pending adds and removes into a new packed base
+     */
+    private static Base compact(Snapshot current) {
+        Base base = current.base;
+        int[] removed = current.removed;
+        byte[][] addedTerms = current.addedTerms;
+        long[] addedIds = current.addedIds;
+
+        int size = base.size - removed.length + addedIds.length;
+        long bytes = base.offsets[base.size];
+        for (int position : removed) {
+            bytes -= base.offsets[position + 1] - base.offsets[position];
+        }
+        for (byte[] term : addedTerms) {
+            bytes += term.length;
+        }
+
+        Base merged = new Base(new byte[Math.toIntExact(bytes)], new int[size + 1], new long[size], size);
+        int written = 0;
+        int position = 0;
+        int nextRemoved = 0;
+        int addedAt = 0;
+        while (position < base.size || addedAt < addedIds.length) {
+            if (nextRemoved < removed.length && removed[nextRemoved] == position) {
+                position++;
+                nextRemoved++;
+                continue;
+            }
+            if (position < base.size && (addedAt == addedIds.length
+                    || base.compare(position, addedTerms[addedAt], addedIds[addedAt]) < 0)) {
+                int start = base.offsets[position];
+                merged.append(written++, base.data, start, base.offsets[position + 1] - start, base.ids[position]);
+                position++;
+            } else {
+                merged.append(written++, addedTerms[addedAt], 0, addedTerms[addedAt].length, addedIds[addedAt]);
+                addedAt++;
+            }
+        }
+        return merged;
+    }
+
+    private static byte[] encode(String term) {
+        return term.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int compare(byte[] term, long id, byte[] otherTerm, long otherId) {
+        int order = Arrays.compareUnsigned(term, otherTerm);
+        return order != 0 ? order : Long.compare(id, otherId);
+    }
+
+    private static int lowerBound(byte[][] terms, long[] ids, byte[] term, long id) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(terms[middle], ids[middle], term, id) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static boolean startsWith(byte[] term, byte[] prefix) {
+        return term.length >= prefix.length && Arrays.equals(term, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int[] without(int[] positions, int index) {
+        int[] copy = new int[positions.length - 1];
+        System.arraycopy(positions, 0, copy, 0, index);
+        System.arraycopy(positions, index + 1, copy, index, copy.length - index);
+        return copy;
+    }
+
+    /**
+     * Packed base plus the changes made since it was built, sorted and never modified
+     */
+    private static final class Snapshot {
+        private final Base base;
+        private final int[] removed;
+        private final byte[][] addedTerms;
+        private final long[] addedIds;
+
+        private Snapshot(Base base, int[] removed, byte[][] addedTerms, long[] addedIds) {
+            this.base = base;
+            this.removed = removed;
+            this.addedTerms = addedTerms;
+            this.addedIds = addedIds;
+        }
+    }
+
+    /**
+     * Entry i has the term data[offsets[i], offsets[i + 1]) and the ID ids[i]
+     */
+    private static final class Base {
+        private static final Base EMPTY = new Base(new byte[0], new int[1], NO_IDS, 0);
+
+        private final byte[] data;
+        private final int[] offsets;
+        private final long[] ids;
+        private final int size;
+
+        private Base(byte[] data, int[] offsets, long[] ids, int size) {
+            this.data = data;
+            this.offsets = offsets;
+            this.ids = ids;
+            this.size = size;
+        }
+
+        private void append(int index, byte[] term, int from, int length, long id) {
+            int start = offsets[index];
+            System.arraycopy(term, from, data, start, length);
+            offsets[index + 1] = start + length;
+            ids[index] = id;
+        }
+
+        private int compare(int index, byte[] term, long id) {
+            int order = Arrays.compareUnsigned(data, offsets[index], offsets[index + 1], term, 0, term.length);
+            return order != 0 ? order : Long.compare(ids[index], id);
+        }
+
+        private boolean matches(int index, byte[] term, long id) {
+            return index < size && compare(index, term, id) == 0;
+        }
+
+        private boolean startsWith(int index, byte[] prefix) {
+            int start = offsets[index];
+            return offsets[index + 1] - start >= prefix.length
+                    && Arrays.equals(data, start, start + prefix.length, prefix, 0, prefix.length);
+        }
+
+        private int lowerBound(byte[] term, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(middle, term, id) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Collects unsorted pairs for a bulk load and packs them once at the end
+     */
+    public static final class Builder {
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(String term, long id) {
+            entries.add(new Entry(encode(term), id));
+            return this;
+        }
+
+        public SortedTerms build(int maxPending) {
+            Entry[] sorted = entries.toArray(new Entry[0]);
+            entries.clear();
+            Arrays.parallelSort(sorted, (a, b) -> SortedTerms.compare(a.term, a.id, b.term, b.id));
+
+            int size = 0;
+            long bytes = 0;
+            Entry previous = null;
+            for (int i = 0; i < sorted.length; i++) {
+                Entry entry = sorted[i];
+                if (previous != null && entry.id == previous.id && Arrays.equals(entry.term, previous.term)) {
+                    sorted[i] = null;
+                    continue;
+                }
+                previous = entry;
+                size++;
+                bytes += entry.term.length;
+            }
+
+            Base base = new Base(new byte[Math.toIntExact(bytes)], new int[size + 1], new long[size], size);
+            int written = 0;
+            for (Entry entry : sorted) {
+                if (entry != null) {
+                    base.append(written++, entry.term, 0, entry.term.length, entry.id);
+                }
+            }
+            return new SortedTerms(maxPending, base);
+        }
+    }
+
+    private static final class Entry {
+        private final byte[] term;
+        private final long id;
+
+        private Entry(byte[] term, long id) {
+            this.term = term;
+            this.id = id;
+        }
+    }
+}
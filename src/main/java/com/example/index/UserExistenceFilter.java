@@ -0,0 +1,250 @@
+package com.example.index;
+
+import com.example.entity.User;
+import com.example.util.ApplicationUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.function.Predicate;
+
+/**
+ * User Existence Filter
+ * Bloom filters over every username and email, so uniqueness checks can
+ * answer "definitely not taken" without a query. Only a possible hit falls
+ * through to the database lookup.
+ * Users are added as soon as they are written, before commit: a rolled-back
+ * write only leaves a false positive, which costs one extra query. They are
+ * added again once the write commits, so a write committing during a rebuild
+ * reaches the filters swapped in even if the load did not see it; the repeat
+ * sets no new bits, so it is not counted as another insertion.
+ * Deleted users stay in the filter until the next rebuild, for the same reason.
+ * The unique constraints on users stay the final guard against duplicates.
+ * Built from the database at startup and rebuilt larger once it fills up.
+ */
+@Component
+public class UserExistenceFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceFilter.class);
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM users";
+    private static final String LOAD_SQL = "SELECT username, email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final int loadFetchSize;
+
+    private final Counter usernameSkipped;
+    private final Counter usernameQueried;
+    private final Counter usernameFalsePositives;
+    private final Counter emailSkipped;
+    private final Counter emailQueried;
+    private final Counter emailFalsePositives;
+
+    // Guards filters and rebuilding together, so every write lands in the filters that get swapped in
+    private final Object swapLock = new Object();
+    private volatile Filters filters;
+    // Receives writes while a rebuild is loading, so none are lost in the swap
+    private Filters rebuilding;
+    private volatile boolean ready;
+
+    @Autowired
+    public UserExistenceFilter(JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${users.existence-filter.expected-users:1000000}") long expectedUsers,
+                               @Value("${users.existence-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${users.existence-filter.load-fetch-size:5000}") int loadFetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.loadFetchSize = loadFetchSize;
+        this.filters = new Filters(expectedUsers, falsePositiveRate);
+
+        this.usernameSkipped = checkCounter(meterRegistry, "username", "skipped");
+        this.usernameQueried = checkCounter(meterRegistry, "username", "queried");
+        this.usernameFalsePositives = falsePositiveCounter(meterRegistry, "username");
+        this.emailSkipped = checkCounter(meterRegistry, "email", "skipped");
+        this.emailQueried = checkCounter(meterRegistry, "email", "queried");
+        this.emailFalsePositives = falsePositiveCounter(meterRegistry, "email");
+        Gauge.builder("users.existence.filter.expected.fpp", this, f -> f.filters.usernames.getExpectedFalsePositiveRate())
+                .description("False-positive rate expected at the current fill")
+                .register(meterRegistry);
+        Gauge.builder("users.existence.filter.insertions", this, f -> f.filters.usernames.getInsertions())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load every username and email into fresh filters and swap them in.
+     * The filters are sized for twice the current user count, or
+     * users.existence-filter.expected-users if that is larger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Long userCount = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+        long capacity = Math.max(expectedUsers, 2 * (userCount == null ? 0 : userCount));
+        Filters fresh = new Filters(capacity, falsePositiveRate);
+        synchronized (swapLock) {
+            rebuilding = fresh;
+        }
+        try {
+            // Run in a transaction so the driver streams rows with a cursor
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(loadFetchSize);
+                return statement;
+            }, resultSet -> {
+                fresh.add(resultSet.getString("username"), resultSet.getString("email"));
+            }));
+            synchronized (swapLock) {
+                filters = fresh;
+                rebuilding = null;
+            }
+            ready = true;
+            log.info("User existence filter built for {} users with capacity {} in {} ms",
+                    fresh.usernames.getInsertions(), capacity, (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuild with room to grow once more users were added than the filter was sized for
+     */
+    @Scheduled(fixedDelayString = "${users.existence-filter.resize-check-interval-ms:60000}")
+    public void resizeIfFull() {
+        BloomFilter usernames = filters.usernames;
+        if (ready && usernames.getInsertions() > usernames.getExpectedInsertions()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Record a created or updated user's username and email
+     * @param user the user being written
+     */
+    public void add(User user) {
+        String username = user.getUsername();
+        String email = user.getEmail();
+        addToCurrent(username, email);
+        ApplicationUtils.runAfterCommit(() -> addToCurrent(username, email));
+    }
+
+    /**
+     * Check whether a username is taken, querying only if the filter cannot rule it out
+     * @param username the username to check
+     * @param lookup the database check, run on a possible hit
+     * @return true if a user has this username
+     */
+    public boolean usernameExists(String username, Predicate<String> lookup) {
+        return exists(filters.usernames, username, lookup, usernameSkipped, usernameQueried, usernameFalsePositives);
+    }
+
+    /**
+     * Check whether an email is taken, querying only if the filter cannot rule it out
+     * @param email the email to check
+     * @param lookup the database check, run on a possible hit
+     * @return true if a user has this email
+     */
+    public boolean emailExists(String email, Predicate<String> lookup) {
+        return exists(filters.emails, email, lookup, emailSkipped, emailQueried, emailFalsePositives);
+    }
+
+    /**
+     * Pre-check for callers that look up many usernames in one query
+     * @return false if no user has this username, true if it must be queried
+     */
+    public boolean mightHaveUsername(String username) {
+        return mightContain(filters.usernames, username, usernameSkipped, usernameQueried);
+    }
+
+    /**
+     * Pre-check for callers that look up many emails in one query
+     * @return false if no user has this email, true if it must be queried
+     */
+    public boolean mightHaveEmail(String email) {
+        return mightContain(filters.emails, email, emailSkipped, emailQueried);
+    }
+
+    private void addToCurrent(String username, String email) {
+        synchronized (swapLock) {
+            filters.add(username, email);
+            if (rebuilding != null) {
+                rebuilding.add(username, email);
+            }
+        }
+    }
+
+    private boolean exists(BloomFilter filter, String value, Predicate<String> lookup,
+                           Counter skipped, Counter queried, Counter falsePositives) {
+        if (!mightContain(filter, value, skipped, queried)) {
+            return false;
+        }
+        boolean exists = lookup.test(value);
+        if (!exists && ready) {
+            falsePositives.increment();
+        }
+        return exists;
+    }
+
+    private boolean mightContain(BloomFilter filter, String value, Counter skipped, Counter queried) {
+        // Until the first load completes the filter knows nothing, so every check goes to the database
+        if (value == null || !ready || filter.mightContain(value)) {
+            queried.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String field, String result) {
+        return Counter.builder("users.existence.filter.checks")
+                .description("Uniqueness checks by outcome; skipped ones were answered without a query")
+                .tag("field", field)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter falsePositiveCounter(MeterRegistry meterRegistry, String field) {
+        return Counter.builder("users.existence.filter.false.positives")
+                .description("Queries made on a possible hit that found nothing")
+                .tag("field", field)
+                .register(meterRegistry);
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long capacity, double falsePositiveRate) {
+            this.usernames = new BloomFilter(capacity, falsePositiveRate);
+            this.emails = new BloomFilter(capacity, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.add(username);
+            }
+            if (email != null) {
+                emails.add(email);
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.index;
+
+import com.example.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * User Prefix Index
+ * Lower-cased usernames and emails of every user in sorted arrays, so the
+ * admin user picker can autocomplete without a LIKE query per keystroke.
+ * Built from the database at startup and kept current as users are created,
+ * updated and deleted.
+ */
+@Component
+public class UserPrefixIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserPrefixIndex.class);
+
+    private static final String LOAD_SQL = "SELECT id, username, email FROM users";
+
+    private final int maxPendingChanges;
+    private final RebuildableIndex<Terms> terms;
+
+    @Autowired
+    public UserPrefixIndex(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${users.autocomplete.max-pending-changes:4096}") int maxPendingChanges,
+                           @Value("${users.autocomplete.load-fetch-size:5000}") int loadFetchSize) {
+        this.maxPendingChanges = maxPendingChanges;
+        this.terms = new RebuildableIndex<>(jdbcTemplate, transactionTemplate, loadFetchSize,
+                new Terms(new SortedTerms(maxPendingChanges), new SortedTerms(maxPendingChanges)));
+    }
+
+    /**
+     * Load every user into a fresh index and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        Terms fresh = terms.rebuild(() -> {
+            SortedTerms.Builder usernames = SortedTerms.builder();
+            SortedTerms.Builder emails = SortedTerms.builder();
+            terms.load(LOAD_SQL, resultSet -> {
+                long id = resultSet.getLong("id");
+                usernames.add(normalize(resultSet.getString("username")), id);
+                emails.add(normalize(resultSet.getString("email")), id);
+            });
+            return new Terms(usernames.build(maxPendingChanges), emails.build(maxPendingChanges));
+        });
+        log.info("User prefix index built with {} users in {} ms",
+                fresh.usernames.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index a new user once the current transaction commits
+     * @param user the saved user, with its ID set
+     */
+    public void add(User user) {
+        long id = user.getId();
+        String username = normalize(user.getUsername());
+        String email = normalize(user.getEmail());
+        terms.apply(current -> current.add(id, username, email));
+    }
+
+    /**
+     * Re-index a user whose username or email changed, once the current transaction commits
+     * @param oldUsername the username before the update
+     * @param oldEmail the email before the update
+     * @param user the updated user
+     */
+    public void update(String oldUsername, String oldEmail, User user) {
+        long id = user.getId();
+        String previousUsername = normalize(oldUsername);
+        String previousEmail = normalize(oldEmail);
+        String username = normalize(user.getUsername());
+        String email = normalize(user.getEmail());
+        if (previousUsername.equals(username) && previousEmail.equals(email)) {
+            return;
+        }
+        terms.apply(current -> {
+            current.remove(id, previousUsername, previousEmail);
+            current.add(id, username, email);
+        });
+    }
+
+    /**
+     * Drop a deleted user once the current transaction commits
+     * @param user the deleted user
+     */
+    public void remove(User user) {
+        long id = user.getId();
+        String username = normalize(user.getUsername());
+        String email = normalize(user.getEmail());
+        terms.apply(current -> current.remove(id, username, email));
+    }
+
+    /**
+     * Find users whose username or email starts with a prefix, ignoring case.
+     * Username matches come first, then email matches, each in alphabetical order.
+     * @param prefix the typed prefix
+     * @param limit maximum number of IDs to return
+     * @return matching user IDs
+     * @throws IllegalStateException if the index is still loading
+     */
+    public long[] search(String prefix, int limit) {
+        if (!terms.isReady()) {
+            throw new IllegalStateException("User index is still loading");
+        }
+        String key = normalize(prefix).trim();
+        if (key.isEmpty() || limit <= 0) {
+            return new long[0];
+        }
+
+        Terms current = terms.current();
+        long[] byUsername = current.usernames.findByPrefix(key, limit);
+        if (byUsername.length == limit) {
+            return byUsername;
+        }
+        // At most byUsername.length email matches are repeats, so limit of them is always enough
+        long[] byEmail = current.emails.findByPrefix(key, limit);
+        long[] result = Arrays.copyOf(byUsername, limit);
+        int found = byUsername.length;
+        for (int i = 0; i < byEmail.length && found < limit; i++) {
+            if (!contains(byUsername, byEmail[i])) {
+                result[found++] = byEmail[i];
+            }
+        }
+        return found == limit ? result : Arrays.copyOf(result, found);
+    }
+
+    public boolean isReady() {
+        return terms.isReady();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Terms {
+        private final SortedTerms usernames;
+        private final SortedTerms emails;
+
+        private Terms(SortedTerms usernames, SortedTerms emails) {
+            this.usernames = usernames;
+            this.emails = emails;
+        }
+
+        private void add(long id, String username, String email) {
+            usernames.add(username, id);
+            emails.add(email, id);
+        }
+
+        private void remove(long id, String username, String email) {
+            usernames.remove(username, id);
+            emails.remove(email, id);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.inventory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Event Inventory
+ * Lock-free seat counter for a single event.
+ * Remaining seats are split across padded stripes so concurrent bookings
+ * on a hot event don't all CAS the same cache line. A stripe never goes
+ * below zero, so the sum of stripes can never oversell the event.
+ * Seats under a hold are taken from the stripes like booked ones, but
+ * counted apart so they are not written back as booked.
+ */
+public class EventInventory {
+
+    // 16 ints = 64 bytes, keeps each stripe on its own cache line
+    private static final int PAD = 16;
+
+    private final Long eventId;
+    private final int capacity;
+    private final int stripes;
+    private final int mask;
+    private final AtomicIntegerArray slots;
+    private final AtomicInteger held = new AtomicInteger();
+
+    private volatile int flushedBooked;
+
+    public EventInventory(Long eventId, int capacity, int ticketsBooked, int stripes) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two");
+        }
+        this.eventId = eventId;
+        this.capacity = capacity;
+        this.stripes = stripes;
+        this.mask = stripes - 1;
+        this.slots = new AtomicIntegerArray(stripes * PAD);
+        this.flushedBooked = ticketsBooked;
+
+        int available = Math.max(0, capacity - ticketsBooked);
+        int share = available / stripes;
+        int extra = available % stripes;
+        for (int i = 0; i < stripes; i++) {
+            slots.set(i * PAD, share + (i < extra ? 1 : 0));
+        }
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Try to take the given number of seats
+     * @param quantity number of seats requested
+     * @return true if the seats were taken, false if not enough are left
+     */
+    public boolean tryAcquire(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+
+        int home = homeStripe();
+
+        // Fast path: a single stripe can satisfy the whole request
+        for (int i = 0; i < stripes; i++) {
+            if (takeExact((home + i) & mask, quantity)) {
+                return true;
+            }
+        }
+
+        // Slow path: seats are fragmented across stripes, gather them
+        int[] taken = new int[stripes];
+        int needed = quantity;
+        for (int i = 0; i < stripes && needed > 0; i++) {
+            int stripe = (home + i) & mask;
+            int got = takeFromStripe(stripe, needed);
+            taken[stripe] = got;
+            needed -= got;
+        }
+
+        if (needed == 0) {
+            return true;
+        }
+
+        // Not enough seats in total, give back what was gathered
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0) {
+                slots.addAndGet(stripe * PAD, taken[stripe]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Give seats back, e.g. for a cancelled booking
+     * @param quantity number of seats to return
+     */
+    public void release(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+        slots.addAndGet(homeStripe() * PAD, quantity);
+    }
+
+    /**
+     * Take seats for a hold, which is later either confirmed or released
+     * @param quantity number of seats to hold
+     * @return true if the seats were taken, false if not enough are left
+     */
+    public boolean tryHold(int quantity) {
+        // Counted as held before the seats leave the stripes, so getBooked never sees them as booked
+        held.addAndGet(quantity);
+        if (!tryAcquire(quantity)) {
+            held.addAndGet(-quantity);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Turn held seats into booked ones
+     * @param quantity number of seats the hold took
+     */
+    public void confirmHold(int quantity) {
+        held.addAndGet(-quantity);
+    }
+
+    /**
+     * Give the seats of an expired or cancelled hold back
+     * @param quantity number of seats the hold took
+     */
+    public void releaseHold(int quantity) {
+        // Back in the stripes before they stop counting as held, the reverse of tryHold
+        release(quantity);
+        held.addAndGet(-quantity);
+    }
+
+    /**
+     * Seats currently available (a snapshot, may be stale under contention)
+     * @return remaining seats
+     */
+    public int getAvailable() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += slots.get(i * PAD);
+        }
+        return sum;
+    }
+
+    /**
+     * Seats currently booked, not counting held ones
+     * @return booked seats
+     */
+    public int getBooked() {
+        // Holds are counted before their seats leave the stripes and after they come back,
+        // so the larger of the sums read either side of held never counts a hold as booked
+        int available = getAvailable();
+        int heldSeats = held.get();
+        return capacity - Math.max(available, getAvailable()) - heldSeats;
+    }
+
+    /**
+     * Seats currently under a hold
+     * @return held seats
+     */
+    public int getHeld() {
+        return held.get();
+    }
+
+    /**
+     * Check whether the booked count has moved since the last write-back
+     * @return the booked count to persist, or -1 if nothing changed
+     */
+    public int pendingFlush() {
+        int booked = getBooked();
+        return booked == flushedBooked ? -1 : booked;
+    }
+
+    public void markFlushed(int booked) {
+        this.flushedBooked = booked;
+    }
+
+    /**
+     * Take exactly {@code quantity} seats from one stripe, or nothing
+     * @return true if the seats were taken
+     */
+    private boolean takeExact(int stripe, int quantity) {
+        int index = stripe * PAD;
+        int current;
+        while ((current = slots.get(index)) >= quantity) {
+            if (slots.compareAndSet(index, current, current - quantity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Take up to {@code wanted} seats from one stripe
+     * @return number of seats taken
+     */
+    private int takeFromStripe(int stripe, int wanted) {
+        int index = stripe * PAD;
+        int current;
+        while ((current = slots.get(index)) > 0) {
+            int take = Math.min(current, wanted);
+            if (slots.compareAndSet(index, current, current - take)) {
+                return take;
+            }
+        }
+        return 0;
+    }
+
+    private int homeStripe() {
+        return (int) Thread.currentThread().getId() & mask;
+    }
+}
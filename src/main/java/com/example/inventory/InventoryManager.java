@@ -0,0 +1,100 @@
+package com.example.inventory;
+
+import com.example.dao.impl.EventsDaoImpl;
+import com.example.entity.Events;
+import com.example.journal.BookingJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inventory Manager
+ * Holds the in-memory seat inventory of every event that has seen a booking.
+ * Inventories are seeded from events.capacity / events.tickets_booked on first
+ * use and their booked counts are written back to the events table in the background,
+ * unless the {@link BookingJournal} is on: it then applies the bookings itself.
+ */
+@Component
+public class InventoryManager {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryManager.class);
+
+    private final EventsDaoImpl eventsDao;
+    private final BookingJournal bookingJournal;
+    private final int stripes;
+    private final Map<Long, EventInventory> inventories = new ConcurrentHashMap<>();
+
+    @Autowired
+    public InventoryManager(EventsDaoImpl eventsDao,
+                            BookingJournal bookingJournal,
+                            @Value("${booking.inventory.stripes:0}") int stripes) {
+        // Taking the journal here makes its replay finish before any inventory is seeded
+        this.eventsDao = eventsDao;
+        this.bookingJournal = bookingJournal;
+        this.stripes = stripes > 0 ? stripes : defaultStripes();
+    }
+
+    /**
+     * Get the inventory of an event, seeding it from the database if needed
+     * @param eventId the event ID
+     * @return the event inventory
+     * @throws RuntimeException if the event does not exist or is not active
+     */
+    public EventInventory getInventory(Long eventId) {
+        EventInventory inventory = inventories.get(eventId);
+        if (inventory != null) {
+            return inventory;
+        }
+        return inventories.computeIfAbsent(eventId, this::load);
+    }
+
+    /**
+     * Write changed booked counts back to events.tickets_booked
+     */
+    @Scheduled(fixedDelayString = "${booking.inventory.flush-interval-ms:1000}")
+    public void flush() {
+        if (bookingJournal.isEnabled()) {
+            return;
+        }
+        for (EventInventory inventory : inventories.values()) {
+            int booked = inventory.pendingFlush();
+            if (booked < 0) {
+                continue;
+            }
+            try {
+                eventsDao.updateTicketsBooked(inventory.getEventId(), booked);
+                inventory.markFlushed(booked);
+            } catch (Exception e) {
+                log.warn("Failed to flush booked count for event {}: {}", inventory.getEventId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private EventInventory load(Long eventId) {
+        Events event = eventsDao.getEventById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
+        if (event.getStatus() == null || event.getStatus() != 1) {
+            throw new IllegalStateException("Event is not open for booking: " + eventId);
+        }
+        return new EventInventory(event.getId(), event.getCapacity(), event.getTicketsBooked(), stripes);
+    }
+
+    private static int defaultStripes() {
+        // Next power of two at or above the core count
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Integer.highestOneBit(Math.max(1, cores - 1)) << 1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.inventory;
+
+import java.util.UUID;
+
+/**
+ * Seat Hold
+ * Seats taken from an event's inventory for a buyer while they check out,
+ * given back automatically at expiresAt unless confirmed first.
+ */
+public final class SeatHold {
+
+    private final UUID id;
+    private final Long eventId;
+    private final Long userId;
+    private final int quantity;
+    private final long expiresAt;
+
+    // Set once scheduled on the timing wheel, used to cancel the expiry
+    private volatile TimingWheel.Timeout<SeatHold> timeout;
+
+    public SeatHold(UUID id, Long eventId, Long userId, int quantity, long expiresAt) {
+        this.id = id;
+        this.eventId = eventId;
+        this.userId = userId;
+        this.quantity = quantity;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @return epoch millis at which the hold expires
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    TimingWheel.Timeout<SeatHold> getTimeout() {
+        return timeout;
+    }
+
+    void setTimeout(TimingWheel.Timeout<SeatHold> timeout) {
+        this.timeout = timeout;
+    }
+}
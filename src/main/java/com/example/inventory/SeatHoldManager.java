@@ -0,0 +1,252 @@
+package com.example.inventory;
+
+import com.example.ApplicationConstants;
+import com.example.dao.impl.SeatHoldDaoImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Seat Hold Manager
+ * Holds seats for buyers during checkout. Held seats are taken from the
+ * event inventory and given back when the hold expires, is released, or
+ * turned into a booking on confirm. Expiries are driven by a timing wheel in
+ * memory, so nothing polls the database for them.
+ * Like booked counts, hold changes reach seat_holds in the background, and
+ * open holds are restored from it on startup.
+ */
+@Component
+public class SeatHoldManager {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatHoldManager.class);
+
+    private final InventoryManager inventoryManager;
+    private final SeatHoldDaoImpl seatHoldDao;
+    private final long ttlMillis;
+    private final int flushBatchSize;
+    private final TimingWheel<SeatHold> wheel;
+    private final Map<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+
+    // Write-behind changes to seat_holds; a hold's insert is always queued before its delete
+    private final Queue<SeatHold> pendingInserts = new ConcurrentLinkedQueue<>();
+    private final Queue<UUID> pendingDeletes = new ConcurrentLinkedQueue<>();
+
+    private final Counter created;
+    private final Counter confirmed;
+    private final Counter released;
+    private final Counter expired;
+
+    @Autowired
+    public SeatHoldManager(InventoryManager inventoryManager,
+                           SeatHoldDaoImpl seatHoldDao,
+                           MeterRegistry meterRegistry,
+                           @Value("${booking.holds.ttl-seconds:600}") long ttlSeconds,
+                           @Value("${booking.holds.tick-ms:100}") long tickMillis,
+                           @Value("${booking.holds.wheel-buckets:256}") int wheelBuckets,
+                           @Value("${booking.holds.flush-batch-size:1000}") int flushBatchSize) {
+        this.inventoryManager = inventoryManager;
+        this.seatHoldDao = seatHoldDao;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.flushBatchSize = flushBatchSize;
+        this.wheel = new TimingWheel<>(tickMillis, wheelBuckets, System.currentTimeMillis());
+
+        this.created = holdCounter(meterRegistry, "created");
+        this.confirmed = holdCounter(meterRegistry, "confirmed");
+        this.released = holdCounter(meterRegistry, "released");
+        this.expired = holdCounter(meterRegistry, "expired");
+        Gauge.builder("booking.holds.active", holds, Map::size)
+                .description("Seat holds currently open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hold seats for a buyer
+     * @param eventId the event ID
+     * @param userId the buyer, may be null
+     * @param quantity number of seats
+     * @return the open hold
+     * @throws IllegalArgumentException if the quantity is not positive
+     * @throws IllegalStateException if the event does not have enough seats left
+     */
+    public SeatHold hold(Long eventId, Long userId, int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+        EventInventory inventory = inventoryManager.getInventory(eventId);
+        if (!inventory.tryHold(quantity)) {
+            throw new IllegalStateException(ApplicationConstants.NOT_ENOUGH_TICKETS + eventId);
+        }
+        SeatHold hold = new SeatHold(UUID.randomUUID(), eventId, userId, quantity, System.currentTimeMillis() + ttlMillis);
+        pendingInserts.add(hold);
+        track(hold);
+        created.increment();
+        return hold;
+    }
+
+    /**
+     * Turn a hold into a booking, keeping its seats taken
+     * @param holdId the hold ID
+     * @return the confirmed hold
+     * @throws RuntimeException if the hold does not exist or already expired
+     */
+    public SeatHold confirm(UUID holdId) {
+        SeatHold hold = take(holdId);
+        inventoryManager.getInventory(hold.getEventId()).confirmHold(hold.getQuantity());
+        confirmed.increment();
+        return hold;
+    }
+
+    /**
+     * Give a hold's seats back before it expires
+     * @param holdId the hold ID
+     * @return the released hold
+     * @throws RuntimeException if the hold does not exist or already expired
+     */
+    public SeatHold release(UUID holdId) {
+        SeatHold hold = take(holdId);
+        inventoryManager.getInventory(hold.getEventId()).releaseHold(hold.getQuantity());
+        released.increment();
+        return hold;
+    }
+
+    /**
+     * Give back the seats of every hold whose time is up
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.tick-ms:100}")
+    public void expire() {
+        wheel.advance(System.currentTimeMillis(), hold -> {
+            // Lost a race with confirm or release, which already settled it
+            if (holds.remove(hold.getId(), hold)) {
+                inventoryManager.getInventory(hold.getEventId()).releaseHold(hold.getQuantity());
+                pendingDeletes.add(hold.getId());
+                expired.increment();
+            }
+        });
+    }
+
+    /**
+     * Write queued hold changes to seat_holds.
+     * A hold opened and closed within one interval never reaches the table.
+     */
+    @Scheduled(fixedDelayString = "${booking.holds.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        // Deletes first: every insert queued before them is then drained too
+        List<UUID> deletes = drain(pendingDeletes);
+        List<SeatHold> inserts = drain(pendingInserts);
+
+        Set<UUID> closed = new HashSet<>(deletes);
+        List<SeatHold> opened = new ArrayList<>(inserts.size());
+        for (SeatHold hold : inserts) {
+            if (!closed.remove(hold.getId())) {
+                opened.add(hold);
+            }
+        }
+
+        try {
+            for (int from = 0; from < opened.size(); from += flushBatchSize) {
+                seatHoldDao.insertHolds(opened.subList(from, Math.min(opened.size(), from + flushBatchSize)));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to persist {} seat holds, will retry: {}", opened.size(), e.getMessage());
+            pendingInserts.addAll(inserts);
+            pendingDeletes.addAll(deletes);
+            return;
+        }
+        List<UUID> remaining = new ArrayList<>(closed);
+        try {
+            for (int from = 0; from < remaining.size(); from += flushBatchSize) {
+                seatHoldDao.deleteHolds(remaining.subList(from, Math.min(remaining.size(), from + flushBatchSize)));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to delete {} seat holds, will retry: {}", remaining.size(), e.getMessage());
+            pendingDeletes.addAll(remaining);
+        }
+    }
+
+    /**
+     * Take back the holds that were open at shutdown.
+     * Holds that expired meanwhile, or no longer fit the event, are dropped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        int dropped = seatHoldDao.deleteExpiredHolds(System.currentTimeMillis());
+        int restored = 0;
+        for (SeatHold hold : seatHoldDao.findAllHolds()) {
+            try {
+                if (inventoryManager.getInventory(hold.getEventId()).tryHold(hold.getQuantity())) {
+                    track(hold);
+                    restored++;
+                    continue;
+                }
+            } catch (RuntimeException e) {
+                log.debug("Event {} of seat hold {} is gone: {}", hold.getEventId(), hold.getId(), e.getMessage());
+            }
+            pendingDeletes.add(hold.getId());
+            dropped++;
+        }
+        log.info("Restored {} seat holds, dropped {}", restored, dropped);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    public int getActiveHolds() {
+        return holds.size();
+    }
+
+    private void track(SeatHold hold) {
+        holds.put(hold.getId(), hold);
+        hold.setTimeout(wheel.schedule(hold, hold.getExpiresAt()));
+    }
+
+    private SeatHold take(UUID holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold == null) {
+            throw new RuntimeException(ApplicationConstants.HOLD_NOT_FOUND + holdId);
+        }
+        // Still unset only if the hold is being settled while it is scheduled; the expiry then finds it gone
+        TimingWheel.Timeout<SeatHold> timeout = hold.getTimeout();
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+        pendingDeletes.add(holdId);
+        return hold;
+    }
+
+    private static <T> List<T> drain(Queue<T> queue) {
+        List<T> drained = new ArrayList<>();
+        for (T item = queue.poll(); item != null; item = queue.poll()) {
+            drained.add(item);
+        }
+        return drained;
+    }
+
+    private static Counter holdCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("booking.holds")
+                .description("Seat holds by how they were opened or settled")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.inventory;
+
+import java.util.function.Consumer;
+
+/**
+ * Timing Wheel
+ * Hierarchical hashed timing wheel: level 0 has one bucket per tick, and each
+ * level above has buckets spanning a whole turn of the level below. A timeout
+ * is linked into the lowest level that can tell its deadline apart from the
+ * current tick, and moved down a level each time its bucket comes round.
+ * Schedule and cancel are O(1); every tick expires one bucket and, at level
+ * boundaries, redistributes one bucket per level, so each timeout is touched
+ * at most once per level.
+ * All operations are serialized on the wheel.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    // Enough levels for any 64-bit tick; upper levels are only allocated once used
+    private final Bucket<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param tickMillis resolution of the wheel; timeouts fire up to one tick late, never early
+     * @param bucketsPerLevel buckets per level, a power of two
+     * @param startMillis current time, the wheel starts at this tick
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int bucketsPerLevel, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (bucketsPerLevel < 2 || Integer.bitCount(bucketsPerLevel) != 1) {
+            throw new IllegalArgumentException("Buckets per level must be a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(bucketsPerLevel);
+        this.mask = bucketsPerLevel - 1;
+        this.levels = (Bucket<T>[][]) new Bucket<?>[(Long.SIZE + bits - 1) / bits][];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedule an item to expire at a deadline
+     * @param item the item handed back on expiry
+     * @param deadlineMillis epoch millis after which the item expires
+     * @return handle to cancel the timeout with
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        // Round up, so a timeout never fires before its deadline
+        Timeout<T> timeout = new Timeout<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancel a pending timeout
+     * @return true if it was pending, false if it already expired or was cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Move the wheel up to the given time, handing every item whose deadline passed to the consumer
+     * @param nowMillis current epoch millis
+     * @param expired called, on the wheel's lock, for each expired item
+     * @return number of items expired
+     */
+    public synchronized int advance(long nowMillis, Consumer<? super T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        int count = 0;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            long tick = ++currentTick;
+            // Highest level first, so a bucket cascades into lower ones before they are visited
+            for (int level = levels.length - 1; level > 0; level--) {
+                long span = (long) bits * level;
+                if (span < Long.SIZE && (tick & ((1L << span) - 1)) == 0 && levels[level] != null) {
+                    Bucket<T> bucket = levels[level][(int) (tick >>> span) & mask];
+                    for (Timeout<T> timeout = bucket.drain(); timeout != null; ) {
+                        Timeout<T> next = timeout.next;
+                        timeout.next = null;
+                        place(timeout, tick);
+                        timeout = next;
+                    }
+                }
+            }
+            Bucket<T> due = bucket(0, (int) tick & mask);
+            for (Timeout<T> timeout = due.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                size--;
+                count++;
+                expired.accept(timeout.item);
+                timeout = next;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Link a timeout into the bucket of the highest digit where its deadline differs from the current tick.
+     * A deadline equal to the current tick lands in the level 0 bucket that is about to be expired.
+     */
+    private void place(Timeout<T> timeout, long earliestTick) {
+        long deadline = Math.max(timeout.deadlineTick, earliestTick);
+        long difference = deadline ^ currentTick;
+        int level = difference == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(difference)) / bits;
+        int index = (int) (deadline >>> ((long) bits * level)) & mask;
+        bucket(level, index).link(timeout);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Bucket<T> bucket(int level, int index) {
+        Bucket<T>[] buckets = levels[level];
+        if (buckets == null) {
+            buckets = (Bucket<T>[]) new Bucket<?>[mask + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            levels[level] = buckets;
+        }
+        return buckets[index];
+    }
+
+    /**
+     * A scheduled item, linked into exactly one bucket while pending
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, so any one can be unlinked in O(1)
+     */
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        private void link(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void unlink(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Detach the whole list; the returned chain is only linked through next
+         */
+        private Timeout<T> drain() {
+            Timeout<T> first = head;
+            head = null;
+            for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                timeout.bucket = null;
+                timeout.previous = null;
+            }
+            return first;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.journal;
+
+import com.example.dao.impl.BookingJournalDaoImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking Journal
+ * Makes every booking durable before it is acknowledged, by appending it to a
+ * local {@link SegmentedJournal} and waiting for the group fsync. A background
+ * applier folds journaled bookings into events.tickets_booked, recording in the
+ * same transaction how far it got, so the journal is the only write on the
+ * booking path. On startup, entries the applier had not reached are applied
+ * before any inventory is loaded. Segments are deleted once fully applied.
+ * Each instance needs its own directory. The journal's name in
+ * booking_journal_state is generated on first start and kept in the directory,
+ * so it stays with the records it describes; booking.journal.name overrides it.
+ * With booking.journal.enabled=false bookings are not journaled and the
+ * inventory writes its booked counts back itself.
+ */
+@Component
+public class BookingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingJournal.class);
+
+    // eventId, userId (-1 for none), quantity, booked-at epoch millis
+    private static final int ENTRY_BYTES = 28;
+    private static final String ID_FILE = "journal.id";
+
+    private final BookingJournalDaoImpl bookingJournalDao;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final String configuredName;
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final int applyBatchSize;
+
+    // Identifies this journal in booking_journal_state
+    private String name;
+    private volatile SegmentedJournal journal;
+    // Last sequence folded into the events table; only the applier moves it
+    private volatile long appliedSequence;
+    // Set when a sync failed; bookings are refused until one succeeds again
+    private volatile boolean syncFailed;
+    private Timer appendTimer;
+
+    @Autowired
+    public BookingJournal(BookingJournalDaoImpl bookingJournalDao,
+                          TransactionTemplate transactionTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${booking.journal.enabled:true}") boolean enabled,
+                          @Value("${booking.journal.name:}") String name,
+                          @Value("${booking.journal.dir:./data/booking-journal}") String directory,
+                          @Value("${booking.journal.segment-bytes:67108864}") int segmentBytes,
+                          @Value("${booking.journal.fsync:true}") boolean fsync,
+                          @Value("${booking.journal.apply-batch-size:10000}") int applyBatchSize) {
+        this.bookingJournalDao = bookingJournalDao;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.configuredName = name;
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.applyBatchSize = applyBatchSize;
+    }
+
+    /**
+     * Open the journal and apply whatever it holds beyond the applied sequence
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        name = configuredName.isBlank() ? directoryName() : configuredName;
+        appliedSequence = bookingJournalDao.getAppliedSequence(name);
+        SegmentedJournal opened = new SegmentedJournal(directory, segmentBytes, 1, fsync);
+        if (opened.getLastSequence() < appliedSequence) {
+            // Applied further than this journal goes: it was lost, or the name is shared with another instance
+            opened.close();
+            throw new IllegalStateException("Booking journal " + name + " in " + directory.toAbsolutePath()
+                    + " ends at " + opened.getLastSequence() + " but was applied up to " + appliedSequence);
+        }
+        journal = opened;
+        int replayed = applyPending();
+        log.info("Booking journal {} opened in {}: replayed {} bookings, next sequence {}",
+                name, directory.toAbsolutePath(), replayed, journal.getLastSequence() + 1);
+
+        appendTimer = Timer.builder("booking.journal.append")
+                .description("Time a booking waits for the journal to reach disk")
+                .register(meterRegistry);
+        Gauge.builder("booking.journal.lag", this, BookingJournal::getLag)
+                .description("Journaled bookings not yet applied to the events table")
+                .register(meterRegistry);
+        FunctionCounter.builder("booking.journal.syncs", journal, SegmentedJournal::getSyncs)
+                .description("Forces to disk, each covering every booking appended before it")
+                .register(meterRegistry);
+        Gauge.builder("booking.journal.segments", journal, SegmentedJournal::getSegmentCount)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Append a booking to the journal; it is applied to the events table from
+     * then on, but only acknowledged once {@link #awaitDurable} returns
+     * @param userId the booking user, may be null
+     * @return the booking's sequence number, 0 when journaling is off
+     * @throws UncheckedIOException if the booking was not journaled
+     */
+    public long append(long eventId, Long userId, int quantity) {
+        if (!enabled) {
+            return 0;
+        }
+        SegmentedJournal current = journal;
+        if (current == null) {
+            throw new UncheckedIOException(new IOException("Booking journal is closed"));
+        }
+        if (syncFailed) {
+            throw new UncheckedIOException(new IOException("Booking journal is paused until it syncs to disk again"));
+        }
+        byte[] entry = ByteBuffer.allocate(ENTRY_BYTES)
+                .putLong(eventId)
+                .putLong(userId == null ? -1 : userId)
+                .putInt(quantity)
+                .putLong(System.currentTimeMillis())
+                .array();
+        try {
+            return current.append(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal booking for event " + eventId, e);
+        }
+    }
+
+    /**
+     * Wait until an appended booking is on disk. If the sync fails the booking
+     * still stands, so new bookings are refused until a later sync succeeds.
+     * @throws UncheckedIOException if the booking may not be on disk
+     */
+    public void awaitDurable(long sequence) {
+        if (!enabled || sequence <= 0) {
+            return;
+        }
+        SegmentedJournal current = journal;
+        if (current == null) {
+            throw new UncheckedIOException(new IOException("Booking journal is closed"));
+        }
+        long start = System.nanoTime();
+        try {
+            current.awaitDurable(sequence);
+        } catch (IOException e) {
+            if (!syncFailed) {
+                syncFailed = true;
+                log.error("Booking journal failed to sync, refusing bookings until it recovers", e);
+            }
+            throw new UncheckedIOException("Booking " + sequence + " is journaled but not on disk", e);
+        }
+        appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Fold journaled bookings into events.tickets_booked, and retry a failed sync
+     */
+    @Scheduled(fixedDelayString = "${booking.journal.apply-interval-ms:1000}")
+    public void apply() {
+        try {
+            resync();
+            applyPending();
+        } catch (Exception e) {
+            log.warn("Failed to apply booking journal after sequence {}: {}", appliedSequence, e.getMessage());
+        }
+    }
+
+    /**
+     * Journaled bookings not yet applied to the events table
+     */
+    public long getLag() {
+        SegmentedJournal current = journal;
+        return current == null ? 0 : current.getLastSequence() - appliedSequence;
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        // Whatever is not applied here is replayed on the next start
+        apply();
+        journal.close();
+        journal = null;
+    }
+
+    private synchronized void resync() throws IOException {
+        if (!syncFailed || journal == null) {
+            return;
+        }
+        journal.awaitDurable(journal.getLastSequence());
+        syncFailed = false;
+        log.info("Booking journal synced again, accepting bookings");
+    }
+
+    /**
+     * Name stored with the journal, generated from the host name on first use
+     */
+    private String directoryName() throws IOException {
+        Path idFile = directory.resolve(ID_FILE);
+        if (Files.exists(idFile)) {
+            return Files.readString(idFile, StandardCharsets.UTF_8).trim();
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "bookings";
+        }
+        String generated = host.substring(0, Math.min(host.length(), 80)) + "-"
+                + UUID.randomUUID().toString().substring(0, 8);
+        Path temp = directory.resolve(ID_FILE + ".tmp");
+        Files.writeString(temp, generated, StandardCharsets.UTF_8);
+        Files.move(temp, idFile, StandardCopyOption.ATOMIC_MOVE);
+        return generated;
+    }
+
+    /**
+     * Apply everything after the applied sequence, one transaction per batch,
+     * then delete the segments no longer needed
+     * @return number of bookings applied
+     */
+    private synchronized int applyPending() throws IOException {
+        if (journal == null) {
+            return 0;
+        }
+        int applied = 0;
+        while (true) {
+            Map<Long, Integer> ticketsBooked = new HashMap<>();
+            long from = appliedSequence + 1;
+            long last = journal.read(from, applyBatchSize, (sequence, entry) ->
+                    ticketsBooked.merge(entry.getLong(0), entry.getInt(16), Integer::sum));
+            if (last < from) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                bookingJournalDao.addTicketsBooked(ticketsBooked);
+                if (!bookingJournalDao.setAppliedSequence(name, last)) {
+                    throw new IllegalStateException("Booking journal " + name + " was already applied past " + last);
+                }
+            });
+            applied += (int) (last - appliedSequence);
+            appliedSequence = last;
+        }
+        if (applied > 0) {
+            journal.deleteBefore(appliedSequence + 1);
+        }
+        return applied;
+    }
+}
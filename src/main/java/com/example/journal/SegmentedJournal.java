@@ -0,0 +1,408 @@
+package com.example.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Segmented Journal
+ * Append-only log of small records in memory-mapped segment files of a fixed
+ * size, named after the sequence number of their first record. A record is
+ * [payload length][CRC32C of sequence and payload][sequence][payload]; a zero
+ * length marks the end of a segment.
+ * Appends are serialized by a lock and only copy into the mapping. Durability
+ * is a separate step: awaitDurable forces everything appended so far in one
+ * msync, so appenders waiting together share it (group commit).
+ * On open, the last segment is scanned and ends at the first record that is
+ * torn, fails its checksum or breaks the sequence; anything after it is zeroed.
+ * Any number of threads may append; read and deleteBefore are meant for a
+ * single consumer thread.
+ */
+public final class SegmentedJournal implements Closeable {
+
+    public static final int HEADER_BYTES = 16;
+
+    private static final String SUFFIX = ".journal";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final CRC32C appendChecksum = new CRC32C();
+
+    // Oldest first; the last one is being appended to. Guarded by appendLock
+    private final List<Segment> segments = new ArrayList<>();
+    private long nextSequence;
+    private volatile long lastSequence;
+    private volatile long durableSequence;
+    private volatile long syncs;
+
+    // Where the last read stopped, so sequential reads do not rescan a segment; one reader only
+    private Segment readSegment;
+    private int readPosition;
+    private long readNext = -1;
+
+    /**
+     * Open the journal in a directory, recovering the records already in it
+     * @param segmentBytes size of each segment file
+     * @param minNextSequence sequence number given to the first record if the
+     *                        journal is empty or ends below it
+     * @param fsync force appended records to disk in awaitDurable; without it they
+     *              survive a process crash but not a machine crash
+     */
+    public SegmentedJournal(Path directory, int segmentBytes, long minNextSequence, boolean fsync) throws IOException {
+        if (segmentBytes < 4096) {
+            throw new IllegalArgumentException("Segments must be at least 4096 bytes");
+        }
+        if (minNextSequence <= 0) {
+            throw new IllegalArgumentException("Sequence numbers start at 1");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+
+        List<Long> firstSequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> firstSequences.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        }
+        firstSequences.sort(null);
+        for (long firstSequence : firstSequences) {
+            segments.add(Segment.open(segmentPath(firstSequence), firstSequence, segmentBytes));
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(Segment.open(segmentPath(minNextSequence), minNextSequence, segmentBytes));
+            nextSequence = minNextSequence;
+        } else {
+            nextSequence = recover(active());
+        }
+        if (nextSequence < minNextSequence) {
+            // Everything here was already consumed elsewhere; continue numbering after it
+            roll(minNextSequence);
+        }
+        lastSequence = nextSequence - 1;
+        durableSequence = lastSequence;
+    }
+
+    /**
+     * Append a record; it is durable once awaitDurable returns for its sequence
+     * @param payload the record body, at most segmentBytes - HEADER_BYTES long
+     * @return the sequence number of the record
+     */
+    public long append(byte[] payload) throws IOException {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit a segment");
+        }
+        appendLock.lock();
+        try {
+            Segment segment = active();
+            if (segment.writePosition + size > segmentBytes) {
+                roll(nextSequence);
+                segment = active();
+            }
+            long sequence = nextSequence;
+            int position = segment.writePosition;
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putLong(position + 8, sequence);
+            buffer.put(position + HEADER_BYTES, payload);
+            appendChecksum.reset();
+            appendChecksum.update(buffer.slice(position + 8, size - 8));
+            buffer.putInt(position + 4, (int) appendChecksum.getValue());
+            // Length last: a record whose length is visible has the rest written
+            buffer.putInt(position, payload.length);
+
+            segment.writePosition = position + size;
+            nextSequence = sequence + 1;
+            lastSequence = sequence;
+            if (!fsync) {
+                durableSequence = sequence;
+            }
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Wait until a record is on disk. The first waiter forces every record
+     * appended so far; the ones queued behind it usually find theirs included.
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        if (durableSequence >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return;
+            }
+            Segment segment;
+            long target;
+            int from;
+            int to;
+            appendLock.lock();
+            try {
+                segment = active();
+                target = lastSequence;
+                from = segment.forcedPosition;
+                to = segment.writePosition;
+            } finally {
+                appendLock.unlock();
+            }
+            // Records in earlier segments were forced when the segment was rolled
+            if (to > from) {
+                segment.buffer.force(from, to - from);
+                segment.forcedPosition = Math.max(segment.forcedPosition, to);
+            }
+            syncs++;
+            durableSequence = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Read durable records in sequence order
+     * @param fromSequence first sequence wanted
+     * @param maxRecords most records to read
+     * @param consumer receives each record's sequence and payload; the payload is only valid during the call
+     * @return the sequence of the last record read, or fromSequence - 1 if none
+     */
+    public long read(long fromSequence, int maxRecords, RecordConsumer consumer) throws IOException {
+        long upTo = durableSequence;
+        long last = fromSequence - 1;
+        if (fromSequence > upTo || maxRecords <= 0) {
+            return last;
+        }
+        List<Segment> snapshot;
+        appendLock.lock();
+        try {
+            snapshot = new ArrayList<>(segments);
+        } finally {
+            appendLock.unlock();
+        }
+
+        Segment segment;
+        int position;
+        long expected;
+        if (readNext == fromSequence && snapshot.contains(readSegment)) {
+            segment = readSegment;
+            position = readPosition;
+            expected = readNext;
+        } else {
+            segment = null;
+            for (Segment candidate : snapshot) {
+                if (candidate.firstSequence <= fromSequence) {
+                    segment = candidate;
+                }
+            }
+            if (segment == null) {
+                segment = snapshot.get(0);
+            }
+            position = 0;
+            expected = segment.firstSequence;
+        }
+
+        CRC32C checksum = new CRC32C();
+        int read = 0;
+        int index = snapshot.indexOf(segment);
+        while (read < maxRecords && expected <= upTo) {
+            ByteBuffer buffer = segment.buffer;
+            int length = position + HEADER_BYTES <= segmentBytes ? buffer.getInt(position) : 0;
+            if (length == 0) {
+                if (++index >= snapshot.size()) {
+                    break;
+                }
+                segment = snapshot.get(index);
+                position = 0;
+                expected = segment.firstSequence;
+                continue;
+            }
+            if (!verify(buffer, position, length, expected, checksum)) {
+                throw new IOException("Corrupt journal record " + expected + " in " + segment.path);
+            }
+            if (expected >= fromSequence) {
+                consumer.accept(expected, buffer.slice(position + HEADER_BYTES, length).asReadOnlyBuffer());
+                last = expected;
+                read++;
+            }
+            position += HEADER_BYTES + length;
+            expected++;
+        }
+        readSegment = segment;
+        readPosition = position;
+        readNext = expected;
+        return last;
+    }
+
+    /**
+     * Delete segments whose records all come before a sequence, never the one being appended to
+     * @return number of segments deleted
+     */
+    public int deleteBefore(long sequence) throws IOException {
+        List<Segment> deleted = new ArrayList<>();
+        appendLock.lock();
+        try {
+            while (segments.size() > 1 && segments.get(1).firstSequence <= sequence) {
+                deleted.add(segments.remove(0));
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (Segment segment : deleted) {
+            segment.close();
+            Files.deleteIfExists(segment.path);
+        }
+        return deleted.size();
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    /**
+     * Number of forces made by awaitDurable, to compare with the number of appends
+     */
+    public long getSyncs() {
+        return syncs;
+    }
+
+    public int getSegmentCount() {
+        appendLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            for (Segment segment : segments) {
+                if (fsync) {
+                    segment.buffer.force();
+                }
+                segment.close();
+            }
+            segments.clear();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Start a new segment; the current one is forced first so that only the
+     * active segment ever holds records that are not on disk yet
+     */
+    private void roll(long firstSequence) throws IOException {
+        Segment current = active();
+        if (fsync && current.writePosition > current.forcedPosition) {
+            current.buffer.force(current.forcedPosition, current.writePosition - current.forcedPosition);
+            current.forcedPosition = current.writePosition;
+        }
+        segments.add(Segment.open(segmentPath(firstSequence), firstSequence, segmentBytes));
+        nextSequence = firstSequence;
+    }
+
+    /**
+     * Find the end of the last segment and wipe whatever follows it
+     * @return the sequence of the next record
+     */
+    private long recover(Segment segment) throws IOException {
+        CRC32C checksum = new CRC32C();
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        long expected = segment.firstSequence;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = buffer.getInt(position);
+            if (length == 0 || !verify(buffer, position, length, expected, checksum)) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+            expected++;
+        }
+        if (position + 4 <= segmentBytes && buffer.getInt(position) != 0) {
+            // A torn append: clear it and anything after it, so no stale record can follow new ones
+            for (int i = position; i < segmentBytes; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            segment.buffer.force();
+        }
+        segment.writePosition = position;
+        segment.forcedPosition = position;
+        return expected;
+    }
+
+    private boolean verify(ByteBuffer buffer, int position, int length, long expected, CRC32C checksum) {
+        if (length < 0 || length > segmentBytes - HEADER_BYTES - position) {
+            return false;
+        }
+        if (buffer.getLong(position + 8) != expected) {
+            return false;
+        }
+        checksum.reset();
+        checksum.update(buffer.slice(position + 8, length + 8));
+        return (int) checksum.getValue() == buffer.getInt(position + 4);
+    }
+
+    private Segment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private Path segmentPath(long firstSequence) {
+        return directory.resolve(String.format("%020d%s", firstSequence, SUFFIX));
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, ByteBuffer payload) throws IOException;
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long firstSequence;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+        private volatile int forcedPosition;
+
+        private Segment(Path path, long firstSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSequence = firstSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, long firstSequence, int segmentBytes) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            // Mapping past the end grows the file; the new space reads as zeros
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return new Segment(path, firstSequence, channel, buffer);
+        }
+
+        private void close() throws IOException {
+            channel.close();
+        }
+    }
+}
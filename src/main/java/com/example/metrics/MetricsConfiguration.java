@@ -0,0 +1,31 @@
+package com.example.metrics;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics Configuration
+ * Wraps the DataSource so DB round trips can be counted per request.
+ * Endpoint, DAO and connection pool latencies are recorded by Spring Boot
+ * and DaoMetricsAspect; their percentiles are configured under
+ * management.metrics in application.yml.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.metrics;
+
+/**
+ * Query Counter
+ * Counts database round trips made by the current request thread.
+ * Counting is only active between {@link #start()} and {@link #stop()}.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private QueryCounter() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stop counting on this thread
+     * @return round trips counted since {@link #start()}
+     */
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    public static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
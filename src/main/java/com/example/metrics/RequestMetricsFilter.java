@@ -0,0 +1,59 @@
+package com.example.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Request Metrics Filter
+ * Records how many database round trips each request made, tagged by
+ * method and URI pattern ("http.server.db.roundtrips").
+ * Summaries are resolved once per route and cached to keep the per-request cost low.
+ */
+@Component
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Route, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int roundTrips = QueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Route route = new Route(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString());
+            summaries.computeIfAbsent(route, this::createSummary).record(roundTrips);
+        }
+    }
+
+    private DistributionSummary createSummary(Route route) {
+        return DistributionSummary.builder("http.server.db.roundtrips")
+                .tag("method", route.method())
+                .tag("uri", route.uri())
+                .register(meterRegistry);
+    }
+
+    private record Route(String method, String uri) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.ratelimit;
+
+import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Filter
+ * Limits requests per client and route before they reach any controller,
+ * answering 429 with Retry-After once a client is over its route's limit.
+ * Clients are identified by their API key header, or their address without one.
+ * Keys are not validated here, so requests with a key also count against a
+ * limit for their address, keys-per-address times the route's: a caller
+ * making up a new key per request still runs into it, and cannot push real
+ * clients out of the limiter faster than that.
+ * Routes are "METHOD /path/pattern requests/window-seconds" rules from
+ * rate-limit.routes; the first matching rule applies and each rule counts
+ * separately. Requests no rule matches are not limited.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Rule[] rules;
+    private final String apiKeyHeader;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public RateLimitFilter(Environment environment,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rate-limit.api-key-header:X-API-Key}") String apiKeyHeader,
+                           @Value("${rate-limit.max-clients:100000}") int maxClients,
+                           @Value("${rate-limit.stripes:64}") int stripes,
+                           @Value("${rate-limit.keys-per-address:4}") int keysPerAddress) {
+        List<String> routes = Binder.get(environment)
+                .bind("rate-limit.routes", Bindable.listOf(String.class))
+                .orElse(List.of());
+        List<Rule> parsed = new ArrayList<>();
+        for (String route : routes) {
+            parsed.add(Rule.parse(route, maxClients, stripes, keysPerAddress, meterRegistry));
+        }
+        this.rules = parsed.toArray(new Rule[0]);
+        this.apiKeyHeader = apiKeyHeader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule != null) {
+            String address = request.getRemoteAddr();
+            String key = request.getHeader(apiKeyHeader);
+            long waitNanos;
+            if (key == null || key.isBlank()) {
+                waitNanos = rule.limiter.tryAcquire(address);
+            } else {
+                // The address goes first, so keys it is not allowed to use are never tracked
+                waitNanos = rule.addressLimiter.tryAcquire(address);
+                if (waitNanos == 0) {
+                    waitNanos = rule.limiter.tryAcquire(key);
+                }
+            }
+            if (waitNanos > 0) {
+                rule.rejected.increment();
+                reject(response, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Rule match(HttpServletRequest request) {
+        if (rules.length == 0) {
+            return null;
+        }
+        String method = request.getMethod();
+        String uri = request.getRequestURI();
+        PathContainer path = PathContainer.parsePath(uri.substring(Math.min(request.getContextPath().length(), uri.length())));
+        for (Rule rule : rules) {
+            if ((rule.method == null || rule.method.equals(method)) && rule.pattern.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(ApplicationConstants.TOO_MANY_REQUESTS + retryAfter + "s"));
+    }
+
+    private static final class Rule {
+        private final String route;
+        private final String method;
+        private final PathPattern pattern;
+        private final SlidingWindowLimiter limiter;
+        // Addresses of requests carrying an API key
+        private final SlidingWindowLimiter addressLimiter;
+        private final Counter rejected;
+
+        private Rule(String route, String method, PathPattern pattern, SlidingWindowLimiter limiter,
+                     SlidingWindowLimiter addressLimiter, Counter rejected) {
+            this.route = route;
+            this.method = method;
+            this.pattern = pattern;
+            this.limiter = limiter;
+            this.addressLimiter = addressLimiter;
+            this.rejected = rejected;
+        }
+
+        /**
+         * Parse "METHOD /path/pattern requests/window-seconds"; * matches any method
+         */
+        private static Rule parse(String route, int maxClients, int stripes, int keysPerAddress, MeterRegistry meterRegistry) {
+            String[] parts = route.trim().split("\\s+");
+            String[] limit = parts.length == 3 ? parts[2].split("/") : new String[0];
+            if (limit.length != 2) {
+                throw new IllegalArgumentException("Rate limit route must be 'METHOD /path requests/seconds': " + route);
+            }
+            String method = "*".equals(parts[0]) ? null : parts[0].toUpperCase();
+            PathPattern pattern = PathPatternParser.defaultInstance.parse(parts[1]);
+            int requests = Integer.parseInt(limit[0]);
+            long windowNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(limit[1]));
+            SlidingWindowLimiter limiter = new SlidingWindowLimiter(requests, windowNanos, maxClients, stripes, System::nanoTime);
+            SlidingWindowLimiter addressLimiter = new SlidingWindowLimiter(
+                    (int) Math.min(SlidingWindowLimiter.MAX_LIMIT, (long) requests * keysPerAddress),
+                    windowNanos, maxClients, stripes, System::nanoTime);
+            String name = parts[0] + " " + parts[1];
+            Counter rejected = Counter.builder("http.ratelimit.rejected")
+                    .description("Requests answered with 429")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.ratelimit.clients", limiter, SlidingWindowLimiter::size)
+                    .description("Clients tracked by the limiter")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("http.ratelimit.evictions.active", limiter, SlidingWindowLimiter::getActiveEvictions)
+                    .description("Clients dropped mid-window because the limiter was full")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            return new Rule(route, method, pattern, limiter, addressLimiter, rejected);
+        }
+    }
+}
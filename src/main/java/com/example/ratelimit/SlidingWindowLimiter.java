@@ -0,0 +1,199 @@
+package com.example.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding Window Limiter
+ * Allows each client up to limit requests per window, estimated from the
+ * counts of the current and previous fixed windows: the previous count is
+ * weighted by how much of it still overlaps the sliding window.
+ * Lock-free: a client's window number and both counts are packed into one
+ * long and moved forward by CAS.
+ * Clients are spread over striped maps holding at most maxClients in total.
+ * A full stripe first drops clients idle for two windows, whose counts no
+ * longer matter, and only then active ones, which start over if they return.
+ */
+public final class SlidingWindowLimiter {
+
+    private static final int COUNT_BITS = 21;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    /**
+     * Largest supported limit, so counts always fit their bits
+     */
+    public static final int MAX_LIMIT = (int) COUNT_MASK - 1;
+
+    private final int limit;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final Stripe[] stripes;
+    private final int stripeCapacity;
+    private final LongAdder activeEvictions = new LongAdder();
+
+    /**
+     * @param limit requests allowed per window
+     * @param windowNanos window length
+     * @param maxClients most clients tracked at once
+     * @param stripes number of maps clients are spread over, rounded up to a power of two
+     * @param nanoClock time source, System::nanoTime outside simulations
+     */
+    public SlidingWindowLimiter(int limit, long windowNanos, int maxClients, int stripes, LongSupplier nanoClock) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        if (maxClients <= 0 || stripes <= 0) {
+            throw new IllegalArgumentException("Client capacity and stripes must be positive");
+        }
+        int stripeCount = Math.min(Integer.highestOneBit(Math.max(1, stripes - 1)) << 1, Integer.highestOneBit(maxClients));
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.stripeCapacity = Math.max(1, maxClients / stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Count a request from a client if it is within the limit
+     * @param client API key or address of the caller
+     * @return 0 if the request is allowed, otherwise nanoseconds until one would be
+     */
+    public long tryAcquire(String client) {
+        AtomicLong state = stateOf(client);
+        while (true) {
+            long elapsed = nanoClock.getAsLong() - origin;
+            long window = (elapsed / windowNanos) & WINDOW_MASK;
+            long intoWindow = elapsed % windowNanos;
+
+            long current = state.get();
+            long previousCount;
+            long currentCount;
+            long storedWindow = current >>> (2 * COUNT_BITS);
+            if (storedWindow == window) {
+                previousCount = (current >>> COUNT_BITS) & COUNT_MASK;
+                currentCount = current & COUNT_MASK;
+            } else {
+                previousCount = ((storedWindow + 1) & WINDOW_MASK) == window ? current & COUNT_MASK : 0;
+                currentCount = 0;
+            }
+
+            double remaining = (double) (windowNanos - intoWindow) / windowNanos;
+            if (previousCount * remaining + currentCount + 1 > limit) {
+                return waitNanos(previousCount, currentCount, intoWindow);
+            }
+            long next = window << (2 * COUNT_BITS) | previousCount << COUNT_BITS | (currentCount + 1);
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * Number of clients tracked (a snapshot)
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.clients.size();
+        }
+        return size;
+    }
+
+    /**
+     * Clients dropped while still inside their window because their stripe was full of active ones
+     */
+    public long getActiveEvictions() {
+        return activeEvictions.sum();
+    }
+
+    /**
+     * Time until the weighted count of the sliding window leaves room for one more request
+     */
+    private long waitNanos(long previousCount, long currentCount, long intoWindow) {
+        if (currentCount + 1 <= limit) {
+            // Wait for enough of the previous window to slide out
+            double until = windowNanos - (double) (limit - 1 - currentCount) * windowNanos / previousCount;
+            return Math.max(1, (long) Math.ceil(until - intoWindow));
+        }
+        // This window is used up: wait into the next one, where it is the previous window
+        double until = windowNanos - (double) (limit - 1) * windowNanos / currentCount;
+        return Math.max(1, windowNanos - intoWindow + (long) Math.ceil(until));
+    }
+
+    private AtomicLong stateOf(String client) {
+        Stripe stripe = stripes[spread(client.hashCode()) & (stripes.length - 1)];
+        AtomicLong state = stripe.clients.get(client);
+        if (state != null) {
+            return state;
+        }
+        if (stripe.clients.size() >= stripeCapacity) {
+            evict(stripe);
+        }
+        // A brand-new client sits in the window before time began, so it carries no counts
+        state = new AtomicLong(((-1L) & WINDOW_MASK) << (2 * COUNT_BITS));
+        AtomicLong existing = stripe.clients.putIfAbsent(client, state);
+        return existing != null ? existing : state;
+    }
+
+    /**
+     * Make room in a full stripe; one thread sweeps at a time while the others
+     * insert anyway, so a stripe overshoots by at most the number of callers
+     */
+    private void evict(Stripe stripe) {
+        if (!stripe.sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long window = ((nanoClock.getAsLong() - origin) / windowNanos) & WINDOW_MASK;
+            stripe.clients.values().removeIf(state -> {
+                long storedWindow = state.get() >>> (2 * COUNT_BITS);
+                return ((window - storedWindow) & WINDOW_MASK) >= 2;
+            });
+            // Keep a quarter free so a full stripe of active clients is not swept on every new one
+            int target = stripeCapacity - Math.max(1, stripeCapacity / 4);
+            Iterator<Map.Entry<String, AtomicLong>> entries = stripe.clients.entrySet().iterator();
+            while (stripe.clients.size() > target && entries.hasNext()) {
+                entries.next();
+                entries.remove();
+                activeEvictions.increment();
+            }
+        } finally {
+            stripe.sweeping.set(false);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> clients;
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+
+        private Stripe(int capacity) {
+            this.clients = new ConcurrentHashMap<>(capacity);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.reactive;
+
+import com.example.cache.EventCategoryCounts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+
+/**
+ * Reactive read API for the event catalog
+ * Runs a Reactor Netty server on its own port next to the servlet container,
+ * backed by an R2DBC pool, so slow clients hold a socket rather than a thread.
+ * Only started when reactive.enabled is true.
+ */
+@Component
+@ConditionalOnProperty(name = "reactive.enabled", havingValue = "true")
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCatalogServer.class);
+
+    private final ObjectMapper objectMapper;
+    private final EventCategoryCounts categoryCounts;
+    private final String r2dbcUrl;
+    private final String username;
+    private final String password;
+    private final int port;
+    private final String contextPath;
+    private final int poolSize;
+    private final int fetchSize;
+
+    private ConnectionPool connectionPool;
+    private DisposableServer server;
+
+    @Autowired
+    public ReactiveCatalogServer(ObjectMapper objectMapper,
+                                 EventCategoryCounts categoryCounts,
+                                 @Value("${reactive.r2dbc.url}") String r2dbcUrl,
+                                 @Value("${spring.datasource.username:}") String username,
+                                 @Value("${spring.datasource.password:}") String password,
+                                 @Value("${reactive.port:8081}") int port,
+                                 @Value("${server.servlet.context-path:}") String contextPath,
+                                 @Value("${reactive.r2dbc.pool-size:10}") int poolSize,
+                                 @Value("${reactive.r2dbc.fetch-size:100}") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.categoryCounts = categoryCounts;
+        this.r2dbcUrl = r2dbcUrl;
+        this.username = username;
+        this.password = password;
+        this.port = port;
+        this.contextPath = contextPath;
+        this.poolSize = poolSize;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void start() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .build());
+
+        // Counted over JDBC once here, so the event loop only ever reads them from memory
+        categoryCounts.load();
+        ReactiveEventRepository eventRepository =
+                new ReactiveEventRepository(DatabaseClient.create(connectionPool), categoryCounts, fetchSize);
+        ReactiveEventHandler eventHandler = new ReactiveEventHandler(eventRepository);
+
+        // Same paths as the servlet API, including the context path
+        RouterFunction<ServerResponse> routes = RouterFunctions.route()
+                .path(contextPath, builder -> builder
+                        .GET("/events/category", eventHandler::getEventCategories)
+                        .route(GET("/events"), eventHandler::getEvents))
+                .build();
+
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        ReactorHttpHandlerAdapter adapter =
+                new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes, strategies));
+        server = HttpServer.create()
+                .port(port)
+                .handle(adapter)
+                .bindNow();
+
+        log.info("Reactive catalog API listening on port {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (connectionPool != null) {
+            connectionPool.dispose();
+            connectionPool = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Port the server is bound to, resolved when reactive.port is 0
+     */
+    public int getPort() {
+        return server == null ? -1 : server.port();
+    }
+}
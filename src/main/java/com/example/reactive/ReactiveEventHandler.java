@@ -0,0 +1,54 @@
+package com.example.reactive;
+
+import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.example.dto.EventsDTO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive handlers for the read-only catalog endpoints.
+ * Same data as EventController, served without holding a thread per connection.
+ */
+public class ReactiveEventHandler {
+
+    private final ReactiveEventRepository eventRepository;
+
+    public ReactiveEventHandler(ReactiveEventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * GET /events
+     * Streams active events as a JSON array, or one event per line with
+     * Accept: application/x-ndjson. The response is written as rows arrive,
+     * so a slow client slows the database cursor instead of buffering the catalog.
+     */
+    public Mono<ServerResponse> getEvents(ServerRequest request) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+
+        return ServerResponse.ok()
+                .contentType(contentType)
+                .body(eventRepository.findAllEventsWithDetails(), EventsDTO.class);
+    }
+
+    /**
+     * GET /events/category
+     * Same envelope as the MVC endpoint
+     */
+    public Mono<ServerResponse> getEventCategories(ServerRequest request) {
+        return eventRepository.findEventCategories()
+                .collectList()
+                .flatMap(categories -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.list(ApplicationConstants.SUCCESS, categories)))
+                .onErrorResume(e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(ApiResponse.error("Failed to get categories: " + e.getMessage())));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.reactive;
+
+import com.example.cache.EventCategoryCounts;
+import com.example.dto.EventCategoryDTO;
+import com.example.dto.EventsDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of the event catalog over R2DBC.
+ * Mirrors the JPQL projections in EventsRepository so both APIs return the same rows.
+ * Category event counts come from the same in-memory counters as the servlet API.
+ */
+public class ReactiveEventRepository {
+
+    private static final String EVENTS_WITH_DETAILS_SQL =
+            "SELECT e.id, e.name, e.display_picture, e.description, " +
+            "e.hosted_from, e.hosted_to, e.created_at, e.updated_at, " +
+            "e.category_id, e.location_id, e.venue, e.ticket_amount, " +
+            "e.status, e.capacity, e.tickets_booked, " +
+            "c.name AS category, " +
+            "l.city || ', ' || l.country AS location " +
+            "FROM events e " +
+            "LEFT JOIN event_category c ON c.id = e.category_id " +
+            "LEFT JOIN locations l ON l.id = e.location_id " +
+            "WHERE e.status = 1 " +
+            "ORDER BY e.id";
+
+    private static final String CATEGORIES_SQL =
+            "SELECT id, name FROM event_category ORDER BY name";
+
+    private final DatabaseClient databaseClient;
+    private final EventCategoryCounts categoryCounts;
+    private final int fetchSize;
+
+    /**
+     * @param categoryCounts event counts per category, already loaded so reading them never blocks
+     */
+    public ReactiveEventRepository(DatabaseClient databaseClient, EventCategoryCounts categoryCounts, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.categoryCounts = categoryCounts;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream all active events with category and location names.
+     * Rows are pulled from a server-side cursor only as fast as the subscriber requests them.
+     */
+    public Flux<EventsDTO> findAllEventsWithDetails() {
+        return databaseClient.sql(EVENTS_WITH_DETAILS_SQL)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveEventRepository::toEventsDTO)
+                .all();
+    }
+
+    /**
+     * Get every category with the number of events in it
+     */
+    public Flux<EventCategoryDTO> findEventCategories() {
+        return databaseClient.sql(CATEGORIES_SQL)
+                .map(row -> {
+                    Long id = row.get("id", Long.class);
+                    return new EventCategoryDTO(id, row.get("name", String.class), categoryCounts.get(id));
+                })
+                .all();
+    }
+
+    private static EventsDTO toEventsDTO(Readable row) {
+        return new EventsDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("display_picture", String.class),
+                row.get("description", String.class),
+                row.get("hosted_from", LocalDateTime.class),
+                row.get("hosted_to", LocalDateTime.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("category_id", Long.class),
+                row.get("location_id", Long.class),
+                row.get("venue", String.class),
+                row.get("ticket_amount", BigDecimal.class),
+                row.get("status", Short.class),
+                row.get("capacity", Integer.class),
+                row.get("tickets_booked", Integer.class),
+                row.get("category", String.class),
+                row.get("location", String.class));
+    }
+}
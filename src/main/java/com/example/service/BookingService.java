@@ -0,0 +1,56 @@
+package com.example.service;
+
+import com.example.dto.ApiResponse;
+import com.example.dto.BookingDTO;
+import com.example.dto.SeatHoldDTO;
+
+
+/**
+ * Booking Service Interface
+ * Defines ticket booking operations against the in-memory event inventory
+ */
+public interface BookingService {
+
+    /**
+     * Book tickets for an event
+     * @param bookingRequest the booking request (event ID and quantity)
+     * @return the confirmed booking
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws IllegalStateException if the event does not have enough seats left
+     */
+    ApiResponse<BookingDTO> bookTickets(BookingDTO bookingRequest);
+
+    /**
+     * Get the seats currently available for an event
+     * @param eventId the event ID
+     * @return the seats available
+     */
+    ApiResponse<BookingDTO> getAvailability(Long eventId);
+
+    /**
+     * Hold seats for a buyer while they check out
+     * @param holdRequest the hold request (event ID, user ID and quantity)
+     * @return the open hold with its expiry
+     * @throws IllegalArgumentException if the request is invalid
+     * @throws IllegalStateException if the event does not have enough seats left
+     */
+    ApiResponse<SeatHoldDTO> holdTickets(BookingDTO holdRequest);
+
+    /**
+     * Turn a hold into a booking
+     * @param holdId the hold ID
+     * @return the confirmed booking
+     * @throws IllegalArgumentException if the hold ID is malformed
+     * @throws RuntimeException if the hold does not exist or already expired
+     */
+    ApiResponse<BookingDTO> confirmHold(String holdId);
+
+    /**
+     * Give a hold's seats back
+     * @param holdId the hold ID
+     * @return the released hold
+     * @throws IllegalArgumentException if the hold ID is malformed
+     * @throws RuntimeException if the hold does not exist or already expired
+     */
+    ApiResponse<SeatHoldDTO> releaseHold(String holdId);
+}
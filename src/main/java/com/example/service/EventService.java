@@ -1,10 +1,19 @@
 package com.example.service;
 
+import com.example.cache.ResponseBodyCache;
+import com.example.dto.ApiResponse;
 import com.example.dto.EventCategoryDTO;
+import com.example.dto.EventImportResultDTO;
 import com.example.dto.EventsDTO;
+import com.example.dto.ImportResponse;
+import com.example.dto.PageResponse;
 import com.example.entity.EventCategory;
+import com.example.entity.Events;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,12 +28,85 @@ public interface EventService {
     @Transactional(readOnly = true)
     Map<Long, EventCategory> getEventCategoryById(Set<Long> ids);
 
-    Map<String, Object> getAllCategories();
+    ApiResponse<List<EventCategoryDTO>> getAllCategories();
 
-    Map<String, Object> getAllEventsWithDetails();
+    /**
+     * Serialized getAllCategories response with its ETag, rebuilt only when categories or counts change
+     */
+    ResponseBodyCache.CachedBody getAllCategoriesBody();
 
+    ApiResponse<List<EventsDTO>> getAllEventsWithDetails();
 
-    Map<String, Object> createEvent(EventsDTO eventRequestBody);
+    /**
+     * Get one page of active events with location and category details
+     * @param cursor cursor token from the previous page, null for the first page
+     * @param size page size, capped at ApplicationConstants.MAX_PAGE_SIZE
+     * @return the page data and the next cursor (null on the last page)
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PageResponse<EventsDTO> getEventsPage(String cursor, Integer size);
 
-    Map<String, Object> buildErrorResponse(String errorMessage);
+    /**
+     * Search active events by words in their name, venue or description.
+     * The last word is matched as a prefix.
+     * @param query the search text
+     * @param limit maximum number of results, capped at ApplicationConstants.MAX_PAGE_SIZE
+     * @return the matching events in ID order
+     * @throws IllegalArgumentException if the query is blank
+     * @throws IllegalStateException if the search index is still loading
+     */
+    ApiResponse<List<EventsDTO>> searchEvents(String query, Integer limit);
+
+    /**
+     * Get active events running at any point in a time window, in hostedFrom order
+     * @param from start of the window, inclusive
+     * @param to end of the window, exclusive
+     * @param limit maximum number of results, capped at ApplicationConstants.MAX_PAGE_SIZE
+     * @return the matching events
+     * @throws IllegalArgumentException if the window is missing or empty
+     */
+    ApiResponse<List<EventsDTO>> getEventsInWindow(LocalDateTime from, LocalDateTime to, Integer limit);
+
+    /**
+     * Get one page of active events in a city and/or category, in ID order
+     * @param city city name, null for any
+     * @param category category name, null for any
+     * @param cursor nextCursor from the previous page, null for the first page
+     * @param size page size, capped at ApplicationConstants.MAX_PAGE_SIZE
+     * @return the page data and the next cursor (null on the last page)
+     * @throws IllegalArgumentException if no filter is given, a name is unknown or the cursor is malformed
+     * @throws IllegalStateException if the filter index is still loading
+     */
+    PageResponse<EventsDTO> filterEvents(String city, String category, String cursor, Integer size);
+
+
+    /**
+     * Write every active event as JSON to the given stream, one row at a time
+     * @param outputStream the response stream
+     * @throws IOException if writing to the stream fails
+     */
+    void exportEvents(OutputStream outputStream) throws IOException;
+
+    ApiResponse<Events> createEvent(EventsDTO eventRequestBody);
+
+    /**
+     * Import many events at once. Categories and locations are resolved in one pass
+     * and rows are inserted in JDBC batches; a bad row is reported, not fatal.
+     * @param eventRequests the events to import
+     * @return one result per row with created and failed totals
+     * @throws IllegalArgumentException if the request is empty or too large
+     */
+    ImportResponse<EventImportResultDTO> importEvents(List<EventsDTO> eventRequests);
+
+    /**
+     * Import many events at once, as {@link #importEvents(List)} does, with
+     * rows already known to be bad reported as errors without being validated
+     * @param eventRequests the events to import
+     * @param rowErrors error messages by position in eventRequests, e.g. values the CSV parser rejected
+     * @return one result per row with created and failed totals
+     * @throws IllegalArgumentException if the request is empty or too large
+     */
+    ImportResponse<EventImportResultDTO> importEvents(List<EventsDTO> eventRequests, Map<Integer, String> rowErrors);
+
+    ApiResponse<Void> buildErrorResponse(String errorMessage);
 }
\ No newline at end of file
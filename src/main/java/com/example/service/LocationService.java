@@ -1,5 +1,6 @@
 package com.example.service;
 
+import com.example.cache.ResponseBodyCache;
 import com.example.entity.Locations;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -9,6 +10,11 @@ import java.util.Set;
 public interface LocationService {
     Map<String, Long> getLocations();
 
+    /**
+     * Serialized locations response with its ETag, rebuilt only when locations change
+     */
+    ResponseBodyCache.CachedBody getLocationsBody();
+
     @Transactional(readOnly = true)
     Map<Long, Locations> getLocationsById(Set<Long> id);
 
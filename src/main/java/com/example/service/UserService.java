@@ -1,7 +1,9 @@
 package com.example.service;
 
 import com.example.dto.UserDTO;
+import com.example.dto.UserImportResultDTO;
 import java.util.List;
+import java.util.Map;
 
 /**
  * User Service Interface
@@ -16,6 +18,14 @@ public interface UserService {
      */
     UserDTO createUser(UserDTO userDto);
 
+    /**
+     * Register many users at once
+     * @param userDtos the users to create
+     * @return one result per record, in request order
+     * @throws IllegalArgumentException if the batch is empty or too large
+     */
+    List<UserImportResultDTO> createUsers(List<UserDTO> userDtos);
+
     /**
      * Get user by ID
      * @param id the user ID
@@ -45,5 +55,23 @@ public interface UserService {
      * @throws RuntimeException if user not found
      */
     void deleteUser(Long id);
-}
 
+    /**
+     * Check whether a username and/or email is still free, for the signup form
+     * @param username the username to check, or null
+     * @param email the email to check, or null
+     * @return availability keyed by "username" and "email", for the values given
+     * @throws IllegalArgumentException if neither is given
+     */
+    Map<String, Boolean> checkAvailability(String username, String email);
+
+    /**
+     * Find users whose username or email starts with a prefix, for autocomplete
+     * @param prefix the typed prefix, matched ignoring case
+     * @param limit maximum number of users, capped by users.autocomplete.max-results
+     * @return matching users, username matches first
+     * @throws IllegalArgumentException if the prefix is blank or the limit is not positive
+     * @throws IllegalStateException if the user index is still loading
+     */
+    List<UserDTO> searchUsers(String prefix, Integer limit);
+}
@@ -0,0 +1,148 @@
+package com.example.service.impl;
+
+import com.example.ApplicationConstants;
+import com.example.dto.ApiResponse;
+import com.example.dto.BookingDTO;
+import com.example.dto.SeatHoldDTO;
+import com.example.inventory.EventInventory;
+import com.example.inventory.InventoryManager;
+import com.example.inventory.SeatHold;
+import com.example.inventory.SeatHoldManager;
+import com.example.journal.BookingJournal;
+import com.example.service.BookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+
+/**
+ * Booking Service Implementation
+ * Books seats against the lock-free in-memory inventory, no DB lock is taken
+ * on the booking path. A booking is acknowledged once it is in the
+ * {@link BookingJournal}, which brings booked counts to the events table; its
+ * seats are given back if the journal refuses it. Seats can also be held
+ * during checkout through {@link SeatHoldManager}.
+ */
+@Service
+public class BookingServiceImpl implements BookingService {
+
+    private final InventoryManager inventoryManager;
+    private final SeatHoldManager seatHoldManager;
+    private final BookingJournal bookingJournal;
+
+    @Autowired
+    public BookingServiceImpl(InventoryManager inventoryManager,
+                              SeatHoldManager seatHoldManager,
+                              BookingJournal bookingJournal) {
+        this.inventoryManager = inventoryManager;
+        this.seatHoldManager = seatHoldManager;
+        this.bookingJournal = bookingJournal;
+    }
+
+    @Override
+    public ApiResponse<BookingDTO> bookTickets(BookingDTO bookingRequest) {
+        if (bookingRequest == null || bookingRequest.getEventId() == null) {
+            throw new IllegalArgumentException("Event ID is required");
+        }
+
+        int quantity = bookingRequest.getQuantity() == null ? 1 : bookingRequest.getQuantity();
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be a positive number");
+        }
+
+        EventInventory inventory = inventoryManager.getInventory(bookingRequest.getEventId());
+        if (!inventory.tryAcquire(quantity)) {
+            throw new IllegalStateException(ApplicationConstants.NOT_ENOUGH_TICKETS + bookingRequest.getEventId());
+        }
+        journal(inventory, bookingRequest.getUserId(), quantity);
+
+        BookingDTO booking = new BookingDTO(
+                bookingRequest.getEventId(),
+                bookingRequest.getUserId(),
+                quantity,
+                inventory.getAvailable()
+        );
+
+        return ApiResponse.success(ApplicationConstants.BOOKED, booking);
+    }
+
+    @Override
+    public ApiResponse<BookingDTO> getAvailability(Long eventId) {
+        EventInventory inventory = inventoryManager.getInventory(eventId);
+
+        BookingDTO availability = new BookingDTO(eventId, null, null, inventory.getAvailable());
+
+        return ApiResponse.success(ApplicationConstants.SUCCESS, availability);
+    }
+
+    @Override
+    public ApiResponse<SeatHoldDTO> holdTickets(BookingDTO holdRequest) {
+        if (holdRequest == null || holdRequest.getEventId() == null) {
+            throw new IllegalArgumentException("Event ID is required");
+        }
+
+        int quantity = holdRequest.getQuantity() == null ? 1 : holdRequest.getQuantity();
+        SeatHold hold = seatHoldManager.hold(holdRequest.getEventId(), holdRequest.getUserId(), quantity);
+
+        return ApiResponse.success(ApplicationConstants.HELD, toHoldDTO(hold));
+    }
+
+    @Override
+    public ApiResponse<BookingDTO> confirmHold(String holdId) {
+        SeatHold hold = seatHoldManager.confirm(parseHoldId(holdId));
+        EventInventory inventory = inventoryManager.getInventory(hold.getEventId());
+        journal(inventory, hold.getUserId(), hold.getQuantity());
+
+        BookingDTO booking = new BookingDTO(
+                hold.getEventId(),
+                hold.getUserId(),
+                hold.getQuantity(),
+                inventory.getAvailable()
+        );
+
+        return ApiResponse.success(ApplicationConstants.BOOKED, booking);
+    }
+
+    @Override
+    public ApiResponse<SeatHoldDTO> releaseHold(String holdId) {
+        SeatHold hold = seatHoldManager.release(parseHoldId(holdId));
+
+        return ApiResponse.success(ApplicationConstants.RELEASED, toHoldDTO(hold));
+    }
+
+    /**
+     * Make a booking durable. Its seats are given back only if it never reached
+     * the journal: once appended it is applied even if the sync then fails.
+     */
+    private void journal(EventInventory inventory, Long userId, int quantity) {
+        long sequence;
+        try {
+            sequence = bookingJournal.append(inventory.getEventId(), userId, quantity);
+        } catch (RuntimeException e) {
+            inventory.release(quantity);
+            throw e;
+        }
+        bookingJournal.awaitDurable(sequence);
+    }
+
+    private SeatHoldDTO toHoldDTO(SeatHold hold) {
+        return new SeatHoldDTO(
+                hold.getId().toString(),
+                hold.getEventId(),
+                hold.getUserId(),
+                hold.getQuantity(),
+                Instant.ofEpochMilli(hold.getExpiresAt()),
+                inventoryManager.getInventory(hold.getEventId()).getAvailable()
+        );
+    }
+
+    private static UUID parseHoldId(String holdId) {
+        try {
+            return UUID.fromString(holdId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid hold ID: " + holdId);
+        }
+    }
+}
@@ -1,24 +1,44 @@
 package com.example.service.impl;
 
 import com.example.ApplicationConstants;
+import com.example.cache.ResponseBodyCache;
 import com.example.dao.impl.EventsDaoImpl;
+import com.example.dto.ApiResponse;
 import com.example.dto.EventCategoryDTO;
+import com.example.dto.EventCursorDTO;
+import com.example.dto.EventImportResultDTO;
 import com.example.dto.EventsDTO;
+import com.example.dto.ImportResponse;
+import com.example.dto.PageResponse;
 import com.example.entity.EventCategory;
 import com.example.entity.Events;
 import com.example.entity.Locations;
+import com.example.index.EventIntervalIndex;
+import com.example.index.EventPostingsIndex;
+import com.example.index.EventSearchIndex;
 import com.example.service.EventService;
 import com.example.service.LocationService;
 import com.example.util.ApplicationUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
@@ -26,11 +46,36 @@ public class EventServiceImpl implements EventService {
 
     private final EventsDaoImpl eventsDao;
     private final LocationService locationService;
+    private final ObjectMapper objectMapper;
+    private final ResponseBodyCache responseBodyCache;
+    private final EventSearchIndex searchIndex;
+    private final EventIntervalIndex intervalIndex;
+    private final EventPostingsIndex postingsIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int importBatchSize;
+    private final int importMaxRows;
 
     @Autowired
-    public EventServiceImpl(EventsDaoImpl eventsDao, LocationService locationService) {
+    public EventServiceImpl(EventsDaoImpl eventsDao,
+                            LocationService locationService,
+                            ObjectMapper objectMapper,
+                            ResponseBodyCache responseBodyCache,
+                            EventSearchIndex searchIndex,
+                            EventIntervalIndex intervalIndex,
+                            EventPostingsIndex postingsIndex,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${events.import.batch-size:500}") int importBatchSize,
+                            @Value("${events.import.max-rows:50000}") int importMaxRows) {
         this.eventsDao = eventsDao;
         this.locationService = locationService;
+        this.objectMapper = objectMapper;
+        this.responseBodyCache = responseBodyCache;
+        this.searchIndex = searchIndex;
+        this.intervalIndex = intervalIndex;
+        this.postingsIndex = postingsIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.importBatchSize = importBatchSize;
+        this.importMaxRows = importMaxRows;
     }
 
     @Override
@@ -59,74 +104,188 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getAllCategories() {
+    public ApiResponse<List<EventCategoryDTO>> getAllCategories() {
         List<EventCategoryDTO> categories = getEventCategories();
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", ApplicationConstants.SUCCESS);
-        response.put("data", categories);
-        response.put("count", categories.size());
+        return ApiResponse.list(ApplicationConstants.SUCCESS, categories);
+    }
 
-        return response;
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseBodyCache.CachedBody getAllCategoriesBody() {
+        // No transaction here: a cache hit must not check out a connection
+        return responseBodyCache.get("eventCategories", eventsDao.getEventCategoriesVersion(), this::getAllCategories);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Map<String, Object> getAllEventsWithDetails() {
-        List<EventsDTO> events = getEvents();
+    public ApiResponse<List<EventsDTO>> getAllEventsWithDetails() {
+        // Category and location names come back from the same joined query
+        List<EventsDTO> events = eventsDao.getAllEventsWithDetails();
 
-        Set<Long> locationIds = events.stream()
-                .map(EventsDTO::getLocationId)
-                .collect(Collectors.toSet());
+        return ApiResponse.list(ApplicationConstants.SUCCESS, events);
+    }
 
-        Set<Long> categoryIds = events.stream()
-                .map(EventsDTO::getCategoryId)
-                .collect(Collectors.toSet());
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<EventsDTO> getEventsPage(String cursor, Integer size) {
+        int pageSize = size == null ? ApplicationConstants.DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+        pageSize = Math.min(pageSize, ApplicationConstants.MAX_PAGE_SIZE);
 
-        Map<Long, Locations> locationsMap = locationService.getLocationsById(locationIds);
-        Map<Long, EventCategory> categoriesMap = getEventCategoryById(categoryIds);
+        EventCursorDTO position = cursor == null || cursor.isBlank()
+                ? new EventCursorDTO()
+                : ApplicationUtils.decodeCursor(cursor);
 
-        for (EventsDTO event : events) {
-            Locations location = locationsMap.get(event.getLocationId());
-            if (location != null) {
-                event.setLocation(location.getCity() + ", " + location.getCountry());
-            }
+        // Fetch one extra row to know whether another page follows
+        List<Events> rows = eventsDao.getEventsPage(position.getHostedFrom(), position.getId(), pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
 
-            EventCategory category = categoriesMap.get(event.getCategoryId());
-            if (category != null) {
-                event.setCategory(category.getName());
-            }
+        List<EventsDTO> events = rows.stream()
+                .map(ApplicationUtils::convertToEventsDTO)
+                .collect(Collectors.toList());
+        enrichEvents(events);
+
+        String nextCursor = null;
+        if (hasMore) {
+            EventsDTO last = events.get(events.size() - 1);
+            nextCursor = ApplicationUtils.encodeCursor(last.getHostedFrom(), last.getId());
         }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("message", ApplicationConstants.SUCCESS);
-        response.put("data", events);
-        response.put("count", events.size());
+        return PageResponse.of(ApplicationConstants.SUCCESS, events, nextCursor);
+    }
 
-        return response;
+    @Override
+    @Transactional(readOnly = true)
+    public ApiResponse<List<EventsDTO>> searchEvents(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int maxResults = limit == null ? ApplicationConstants.DEFAULT_PAGE_SIZE : limit;
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        maxResults = Math.min(maxResults, ApplicationConstants.MAX_PAGE_SIZE);
+
+        List<EventsDTO> events = loadEventsInOrder(searchIndex.search(query, maxResults));
+
+        return ApiResponse.list(ApplicationConstants.SUCCESS, events);
     }
 
     @Override
-    public Map<String, Object> createEvent(EventsDTO eventRequestBody) {
-        if(eventRequestBody == null) {
-            throw new RuntimeException("Event request body cannot be null");
+    @Transactional(readOnly = true)
+    public ApiResponse<List<EventsDTO>> getEventsInWindow(LocalDateTime from, LocalDateTime to, Integer limit) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("To must be after from");
+        }
+        int maxResults = limit == null ? ApplicationConstants.DEFAULT_PAGE_SIZE : limit;
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        maxResults = Math.min(maxResults, ApplicationConstants.MAX_PAGE_SIZE);
+
+        List<EventsDTO> events;
+        if (intervalIndex.isReady()) {
+            events = loadEventsInOrder(intervalIndex.findOverlapping(from, to, maxResults));
+        } else {
+            // Index still loading, the range query is served by idx_events_active_hosted_range
+            events = eventsDao.getEventsOverlapping(from, to, maxResults).stream()
+                    .map(ApplicationUtils::convertToEventsDTO)
+                    .collect(Collectors.toList());
+            enrichEvents(events);
+        }
+
+        return ApiResponse.list(ApplicationConstants.SUCCESS, events);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<EventsDTO> filterEvents(String city, String category, String cursor, Integer size) {
+        boolean byCity = city != null && !city.isBlank();
+        boolean byCategory = category != null && !category.isBlank();
+        if (!byCity && !byCategory) {
+            throw new IllegalArgumentException("City or category is required");
+        }
+        int pageSize = size == null ? ApplicationConstants.DEFAULT_PAGE_SIZE : size;
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be a positive number");
+        }
+        pageSize = Math.min(pageSize, ApplicationConstants.MAX_PAGE_SIZE);
+
+        Long locationId = null;
+        if (byCity) {
+            locationId = locationService.getLocations().get(city);
+            if (locationId == null) {
+                throw new IllegalArgumentException("Unknown location: " + city);
+            }
+        }
+        Long categoryId = null;
+        if (byCategory) {
+            categoryId = eventsDao.getEventCategoryIdsByName().get(category.toUpperCase());
+            if (categoryId == null) {
+                throw new IllegalArgumentException("Unknown category: " + category);
+            }
+        }
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Long.valueOf(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
         }
 
-        Events events = new Events();
-        events.setName(eventRequestBody.getName());
-        if(eventRequestBody.getDescription() != null) {
-            events.setDescription(eventRequestBody.getDescription());
+        // Fetch one extra ID to know whether another page follows
+        long[] ids = postingsIndex.find(locationId, categoryId, afterId, pageSize + 1);
+        boolean hasMore = ids.length > pageSize;
+        if (hasMore) {
+            ids = Arrays.copyOf(ids, pageSize);
         }
+        List<EventsDTO> events = loadEventsInOrder(ids);
+
+        String nextCursor = hasMore ? String.valueOf(ids[ids.length - 1]) : null;
+        return PageResponse.of(ApplicationConstants.SUCCESS, events, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvents(OutputStream outputStream) throws IOException {
+        // Rows are projected straight into DTOs, so nothing piles up in the
+        // persistence context and memory stays flat whatever the catalog size
+        try (Stream<EventsDTO> events = eventsDao.streamAllEventsWithDetails();
+             JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartObject();
+            generator.writeStringField("status", "success");
+            generator.writeStringField("message", ApplicationConstants.SUCCESS);
+            generator.writeArrayFieldStart("data");
 
-        if(eventRequestBody.getDisplayPicture() != null) {
-            events.setDisplayPicture(eventRequestBody.getDisplayPicture());
+            long count = 0;
+            for (EventsDTO event : (Iterable<EventsDTO>) events::iterator) {
+                generator.writeObject(event);
+                count++;
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("count", count);
+            generator.writeEndObject();
+        }
+    }
+
+    @Override
+    public ApiResponse<Events> createEvent(EventsDTO eventRequestBody) {
+        if(eventRequestBody == null) {
+            throw new RuntimeException("Event request body cannot be null");
         }
 
-        events.setHostedFrom(eventRequestBody.getHostedFrom());
-        events.setHostedTo(eventRequestBody.getHostedTo());
-        events.setTicketAmount(eventRequestBody.getTicketAmount());
+        Events events = ApplicationUtils.convertToEventsEntity(eventRequestBody);
 
         String category = eventRequestBody.getCategory();
         EventCategory eventCategory = eventsDao.getEventCategoryByName(category);
@@ -135,28 +294,181 @@ public class EventServiceImpl implements EventService {
         String location = eventRequestBody.getLocation();
         Locations locations = locationService.getLocationsByCity(location);
         events.setLocationId(locations.getId());
-        events.setVenue(eventRequestBody.getVenue());
-        events.setCapacity(eventRequestBody.getCapacity());
 
         try {
             eventsDao.insertEvent(events);
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Event created successfully");
-            response.put("data", events);
-
-            return response;
+            return ApiResponse.success("Event created successfully", events);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
     }
 
     @Override
-    public Map<String, Object> buildErrorResponse(String errorMessage) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "error");
-        response.put("message", errorMessage);
-        return response;
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResponse<EventImportResultDTO> importEvents(List<EventsDTO> eventRequests) {
+        return importEvents(eventRequests, Map.of());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportResponse<EventImportResultDTO> importEvents(List<EventsDTO> eventRequests, Map<Integer, String> rowErrors) {
+        if (eventRequests == null || eventRequests.isEmpty()) {
+            throw new IllegalArgumentException("No events to import");
+        }
+        if (eventRequests.size() > importMaxRows) {
+            throw new IllegalArgumentException("Cannot import more than " + importMaxRows + " events at once");
+        }
+
+        // Resolve every category and city once for the whole import
+        Map<String, Long> categoryIds = eventsDao.getEventCategoryIdsByName();
+        Map<String, Long> locationIds = locationService.getLocations();
+
+        EventImportResultDTO[] results = new EventImportResultDTO[eventRequests.size()];
+        List<Events> batch = new ArrayList<>(importBatchSize);
+        List<Integer> batchRows = new ArrayList<>(importBatchSize);
+
+        for (int row = 0; row < eventRequests.size(); row++) {
+            EventsDTO eventRequest = eventRequests.get(row);
+            String error = rowErrors.containsKey(row)
+                    ? rowErrors.get(row)
+                    : validateImportRow(eventRequest, categoryIds, locationIds);
+            if (error != null) {
+                results[row] = new EventImportResultDTO(row + 1, "error", null, error);
+                continue;
+            }
+
+            Events events = ApplicationUtils.convertToEventsEntity(eventRequest);
+            events.setCategoryId(categoryIds.get(eventRequest.getCategory().toUpperCase()));
+            events.setLocationId(locationIds.get(eventRequest.getLocation()));
+            batch.add(events);
+            batchRows.add(row);
+
+            if (batch.size() == importBatchSize) {
+                insertImportBatch(batch, batchRows, results);
+            }
+        }
+        insertImportBatch(batch, batchRows, results);
+
+        long created = Arrays.stream(results).filter(result -> "created".equals(result.getStatus())).count();
+
+        String message = "Imported " + created + " of " + results.length + " events";
+        return ImportResponse.of(message, Arrays.asList(results), created);
+    }
+
+    @Override
+    public ApiResponse<Void> buildErrorResponse(String errorMessage) {
+        return ApiResponse.error(errorMessage);
+    }
+
+    /**
+     * Fill in location and category names on a list of events
+     * @param events the events to enrich, modified in place
+     */
+    private void enrichEvents(List<EventsDTO> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        Set<Long> locationIds = events.stream()
+                .map(EventsDTO::getLocationId)
+                .collect(Collectors.toSet());
+
+        Set<Long> categoryIds = events.stream()
+                .map(EventsDTO::getCategoryId)
+                .collect(Collectors.toSet());
+
+        // Both are reference cache hits once warm, so there is nothing to gain from forking them
+        Map<Long, Locations> locationsMap = locationService.getLocationsById(locationIds);
+        Map<Long, EventCategory> categoriesMap = getEventCategoryById(categoryIds);
+
+        ApplicationUtils.enrichEventsDTO(events, locationsMap, categoriesMap);
+    }
+
+    /**
+     * Read events found by an in-memory index, by primary key, keeping the index order
+     * @param ids event IDs in the order they should be returned
+     * @return enriched events, skipping any ID no longer in the table
+     */
+    private List<EventsDTO> loadEventsInOrder(long[] ids) {
+        List<Long> idList = Arrays.stream(ids).boxed().collect(Collectors.toList());
+        Map<Long, Events> rows = eventsDao.getEventsByIds(idList).stream()
+                .collect(Collectors.toMap(Events::getId, event -> event));
+
+        List<EventsDTO> events = idList.stream()
+                .map(rows::get)
+                .filter(event -> event != null)
+                .map(ApplicationUtils::convertToEventsDTO)
+                .collect(Collectors.toList());
+        enrichEvents(events);
+        return events;
+    }
+
+    /**
+     * Insert one import batch in its own transaction. If the batch is rejected
+     * by the database, retry its rows one by one so only the bad rows fail.
+     */
+    private void insertImportBatch(List<Events> batch, List<Integer> batchRows, EventImportResultDTO[] results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> eventsDao.insertEvents(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                int row = batchRows.get(i);
+                results[row] = new EventImportResultDTO(row + 1, "created", batch.get(i).getId(), null);
+            }
+        } catch (DataAccessException batchError) {
+            for (int i = 0; i < batch.size(); i++) {
+                int row = batchRows.get(i);
+                List<Events> single = List.of(batch.get(i));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> eventsDao.insertEvents(single));
+                    results[row] = new EventImportResultDTO(row + 1, "created", single.get(0).getId(), null);
+                } catch (DataAccessException rowError) {
+                    results[row] = new EventImportResultDTO(row + 1, "error", null,
+                            rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        batchRows.clear();
+    }
+
+    /**
+     * Check a single import row
+     * @return the error message, or null if the row is valid
+     */
+    private String validateImportRow(EventsDTO event, Map<String, Long> categoryIds, Map<String, Long> locationIds) {
+        if (event == null) {
+            return "Event cannot be null";
+        }
+        if (event.getName() == null || event.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (event.getVenue() == null || event.getVenue().isBlank()) {
+            return "Venue is required";
+        }
+        if (event.getHostedFrom() == null || event.getHostedTo() == null) {
+            return "Hosted from and hosted to are required";
+        }
+        if (event.getHostedTo().isBefore(event.getHostedFrom())) {
+            return "Hosted to must not be before hosted from";
+        }
+        if (event.getTicketAmount() == null || event.getTicketAmount().signum() < 0) {
+            return "Ticket amount must be zero or more";
+        }
+        if (event.getCapacity() == null || event.getCapacity() <= 0) {
+            return "Capacity must be a positive number";
+        }
+        if (event.getCategory() == null || !categoryIds.containsKey(event.getCategory().toUpperCase())) {
+            return "Unknown category: " + event.getCategory();
+        }
+        if (event.getLocation() == null || !locationIds.containsKey(event.getLocation())) {
+            return "Unknown location: " + event.getLocation();
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
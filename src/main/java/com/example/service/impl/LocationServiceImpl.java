@@ -1,10 +1,14 @@
 package com.example.service.impl;
 
+import com.example.ApplicationConstants;
+import com.example.cache.ResponseBodyCache;
 import com.example.dao.LocationsRepository;
 import com.example.dao.impl.LocationsDaoImpl;
+import com.example.dto.ApiResponse;
 import com.example.entity.Locations;
 import com.example.service.LocationService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -16,9 +20,11 @@ import java.util.stream.Collectors;
 @Transactional
 public class LocationServiceImpl implements LocationService {
     private final LocationsDaoImpl locationsDao;
+    private final ResponseBodyCache responseBodyCache;
 
-    public LocationServiceImpl(LocationsDaoImpl locationsDao) {
+    public LocationServiceImpl(LocationsDaoImpl locationsDao, ResponseBodyCache responseBodyCache) {
         this.locationsDao = locationsDao;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @Override
@@ -27,6 +33,16 @@ public class LocationServiceImpl implements LocationService {
         return locationsDao.getAllLocations();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseBodyCache.CachedBody getLocationsBody() {
+        // No transaction here: a cache hit must not check out a connection
+        return responseBodyCache.get("locations", locationsDao.getLocationsVersion(), () -> {
+            Map<String, Long> locations = getLocations();
+            return ApiResponse.success(ApplicationConstants.SUCCESS, locations, locations.size());
+        });
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Map<Long, Locations> getLocationsById(Set<Long> ids) {
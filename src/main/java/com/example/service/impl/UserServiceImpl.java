@@ -3,15 +3,28 @@ package com.example.service.impl;
 import com.example.ApplicationConstants;
 import com.example.dao.impl.UserDaoImpl;
 import com.example.dto.UserDTO;
+import com.example.dto.UserImportResultDTO;
 import com.example.entity.User;
+import com.example.index.UserExistenceFilter;
+import com.example.index.UserPrefixIndex;
 import com.example.service.UserService;
 import com.example.util.ApplicationUtils;
 import com.example.validation.UserValidation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +37,30 @@ public class UserServiceImpl implements UserService {
 
     private final UserDaoImpl userDao;
     private final UserValidation userValidation;
+    private final UserPrefixIndex prefixIndex;
+    private final UserExistenceFilter existenceFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final int importBatchSize;
+    private final int importMaxRows;
+    private final int autocompleteMaxResults;
 
     @Autowired
-    public UserServiceImpl(UserDaoImpl userDao, UserValidation userValidation) {
+    public UserServiceImpl(UserDaoImpl userDao,
+                           UserValidation userValidation,
+                           UserPrefixIndex prefixIndex,
+                           UserExistenceFilter existenceFilter,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${users.import.batch-size:1000}") int importBatchSize,
+                           @Value("${users.import.max-rows:10000}") int importMaxRows,
+                           @Value("${users.autocomplete.max-results:50}") int autocompleteMaxResults) {
         this.userDao = userDao;
         this.userValidation = userValidation;
+        this.prefixIndex = prefixIndex;
+        this.existenceFilter = existenceFilter;
+        this.transactionTemplate = transactionTemplate;
+        this.importBatchSize = importBatchSize;
+        this.importMaxRows = importMaxRows;
+        this.autocompleteMaxResults = autocompleteMaxResults;
     }
 
     @Override
@@ -41,11 +73,50 @@ public class UserServiceImpl implements UserService {
 
         // Save user
         User savedUser = userDao.save(user);
+        existenceFilter.add(savedUser);
+        prefixIndex.add(savedUser);
 
         // Convert Entity to DTO and return
         return ApplicationUtils.convertToDto(savedUser);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UserImportResultDTO> createUsers(List<UserDTO> userDtos) {
+        if (userDtos == null || userDtos.isEmpty()) {
+            throw new IllegalArgumentException("No users to create");
+        }
+        if (userDtos.size() > importMaxRows) {
+            throw new IllegalArgumentException("Cannot create more than " + importMaxRows + " users at once");
+        }
+
+        // Validate the whole batch, uniqueness is checked with set-based queries
+        Map<Integer, String> errors = userValidation.validateForBatchCreate(userDtos);
+
+        UserImportResultDTO[] results = new UserImportResultDTO[userDtos.size()];
+        List<User> batch = new ArrayList<>(importBatchSize);
+        List<Integer> batchRows = new ArrayList<>(importBatchSize);
+
+        for (int row = 0; row < userDtos.size(); row++) {
+            UserDTO userDto = userDtos.get(row);
+            String error = errors.get(row);
+            if (error != null) {
+                String username = userDto == null ? null : userDto.getUsername();
+                results[row] = new UserImportResultDTO(row + 1, "error", null, username, error);
+                continue;
+            }
+
+            batch.add(ApplicationUtils.convertToEntity(userDto));
+            batchRows.add(row);
+            if (batch.size() == importBatchSize) {
+                insertUserBatch(batch, batchRows, results);
+            }
+        }
+        insertUserBatch(batch, batchRows, results);
+
+        return Arrays.asList(results);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDTO getUserById(Long id) {
@@ -88,10 +159,14 @@ public class UserServiceImpl implements UserService {
         userValidation.validateForUpdate(userDto);
 
         // Update entity with DTO data
+        String oldUsername = existingUser.getUsername();
+        String oldEmail = existingUser.getEmail();
         ApplicationUtils.updateEntityFromDto(existingUser, userDto);
 
         // Save updated user
         User updatedUser = userDao.save(existingUser);
+        existenceFilter.add(updatedUser);
+        prefixIndex.update(oldUsername, oldEmail, updatedUser);
 
         // Convert Entity to DTO and return
         return ApplicationUtils.convertToDto(updatedUser);
@@ -103,12 +178,101 @@ public class UserServiceImpl implements UserService {
         userValidation.validateId(id);
 
         // Check if user exists
-        if (!userDao.existsById(id)) {
-            throw new RuntimeException(ApplicationConstants.USER_NOT_FOUND + id);
-        }
+        User user = userDao.findById(id)
+                .orElseThrow(() -> new RuntimeException(ApplicationConstants.USER_NOT_FOUND + id));
 
         // Delete user
         userDao.deleteById(id);
+        prefixIndex.remove(user);
     }
-}
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Boolean> checkAvailability(String username, String email) {
+        boolean byUsername = username != null && !username.isBlank();
+        boolean byEmail = email != null && !email.isBlank();
+        if (!byUsername && !byEmail) {
+            throw new IllegalArgumentException("Username or email is required");
+        }
+
+        Map<String, Boolean> availability = new LinkedHashMap<>();
+        if (byUsername) {
+            availability.put("username", userValidation.isUsernameAvailable(username));
+        }
+        if (byEmail) {
+            availability.put("email", userValidation.isEmailAvailable(email));
+        }
+        return availability;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDTO> searchUsers(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Search prefix is required");
+        }
+        int maxResults = limit == null ? ApplicationConstants.DEFAULT_PAGE_SIZE : limit;
+        if (maxResults <= 0) {
+            throw new IllegalArgumentException("Limit must be a positive number");
+        }
+        maxResults = Math.min(maxResults, autocompleteMaxResults);
+
+        long[] ids = prefixIndex.search(prefix, maxResults);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        // Keep the index order; a user deleted since the lookup is skipped
+        Map<Long, User> users = userDao.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(users::get)
+                .filter(Objects::nonNull)
+                .map(ApplicationUtils::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Insert one batch of users in its own transaction. If the batch is rejected
+     * (e.g. a concurrent signup took a username), retry its rows one by one
+     * so only the conflicting rows fail.
+     */
+    private void insertUserBatch(List<User> batch, List<Integer> batchRows, UserImportResultDTO[] results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                userDao.insertAll(batch);
+                batch.forEach(existenceFilter::add);
+                batch.forEach(prefixIndex::add);
+            });
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                int row = batchRows.get(i);
+                results[row] = new UserImportResultDTO(row + 1, "created", user.getId(), user.getUsername(), null);
+            }
+        } catch (DataAccessException batchError) {
+            for (int i = 0; i < batch.size(); i++) {
+                User user = batch.get(i);
+                int row = batchRows.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        userDao.insertAll(List.of(user));
+                        existenceFilter.add(user);
+                        prefixIndex.add(user);
+                    });
+                    results[row] = new UserImportResultDTO(row + 1, "created", user.getId(), user.getUsername(), null);
+                } catch (DataAccessException rowError) {
+                    results[row] = new UserImportResultDTO(row + 1, "error", null, user.getUsername(),
+                            rowError.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        batch.clear();
+        batchRows.clear();
+    }
+}
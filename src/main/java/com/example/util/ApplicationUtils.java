@@ -1,9 +1,25 @@
 package com.example.util;
 
+import com.example.dto.EventCursorDTO;
 import com.example.dto.EventsDTO;
 import com.example.dto.UserDTO;
+import com.example.entity.EventCategory;
 import com.example.entity.Events;
+import com.example.entity.Locations;
 import com.example.entity.User;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Application Utility Class
@@ -100,5 +116,241 @@ public class ApplicationUtils {
 
         return eventsDTO;
     }
-}
 
+    /**
+     * Fill in location ("city, country") and category names on event DTOs
+     * @param events the events to enrich, modified in place
+     * @param locationsMap locations keyed by id
+     * @param categoriesMap categories keyed by id
+     */
+    public static void enrichEventsDTO(List<EventsDTO> events,
+                                       Map<Long, Locations> locationsMap,
+                                       Map<Long, EventCategory> categoriesMap) {
+        for (EventsDTO event : events) {
+            Locations location = locationsMap.get(event.getLocationId());
+            if (location != null) {
+                event.setLocation(location.getCity() + ", " + location.getCountry());
+            }
+
+            EventCategory category = categoriesMap.get(event.getCategoryId());
+            if (category != null) {
+                event.setCategory(category.getName());
+            }
+        }
+    }
+
+    /**
+     * Convert EventsDTO to a new Events entity.
+     * Category and location IDs are resolved by the caller.
+     * @param eventsDTO the EventsDTO object
+     * @return Events entity
+     */
+    public static Events convertToEventsEntity(EventsDTO eventsDTO) {
+        if (eventsDTO == null) {
+            return null;
+        }
+
+        Events events = new Events();
+        events.setName(eventsDTO.getName());
+        if (eventsDTO.getDescription() != null) {
+            events.setDescription(eventsDTO.getDescription());
+        }
+
+        if (eventsDTO.getDisplayPicture() != null) {
+            events.setDisplayPicture(eventsDTO.getDisplayPicture());
+        }
+
+        events.setHostedFrom(eventsDTO.getHostedFrom());
+        events.setHostedTo(eventsDTO.getHostedTo());
+        events.setTicketAmount(eventsDTO.getTicketAmount());
+        events.setVenue(eventsDTO.getVenue());
+        events.setCapacity(eventsDTO.getCapacity());
+
+        return events;
+    }
+
+    /**
+     * Parse events from CSV. The first line is a header naming the columns,
+     * using the EventsDTO field names (name, venue, hostedFrom, category, ...).
+     * Values may be double-quoted, with "" as an escaped quote; quoted values
+     * may span lines.
+     * @param csv the CSV document
+     * @return one EventsDTO per data line, in order
+     * @throws IllegalArgumentException if a value cannot be parsed
+     */
+    public static List<EventsDTO> parseEventsCsv(String csv) {
+        Map<Integer, String> rowErrors = new HashMap<>();
+        List<EventsDTO> events = parseEventsCsv(csv, rowErrors);
+        if (!rowErrors.isEmpty()) {
+            throw new IllegalArgumentException(rowErrors.get(Collections.min(rowErrors.keySet())));
+        }
+        return events;
+    }
+
+    /**
+     * Parse events from CSV as {@link #parseEventsCsv(String)} does, but keep
+     * going past a value that cannot be parsed. The line still gets its
+     * EventsDTO, so positions match the document, and the error is recorded
+     * against its position instead.
+     * @param csv the CSV document
+     * @param rowErrors filled with an error message per unparseable line, by position in the result
+     * @return one EventsDTO per data line, in order
+     */
+    public static List<EventsDTO> parseEventsCsv(String csv, Map<Integer, String> rowErrors) {
+        List<EventsDTO> events = new ArrayList<>();
+        if (csv == null || csv.isBlank()) {
+            return events;
+        }
+
+        List<CsvRecord> records = parseCsvRecords(csv);
+        List<String> header = records.get(0).values();
+
+        for (CsvRecord record : records.subList(1, records.size())) {
+            List<String> values = record.values();
+            if (values.size() == 1 && values.get(0).isBlank()) {
+                continue;
+            }
+            EventsDTO event = new EventsDTO();
+            for (int column = 0; column < header.size() && column < values.size(); column++) {
+                String value = values.get(column).trim();
+                if (value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    setEventField(event, header.get(column).trim(), value);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    rowErrors.putIfAbsent(events.size(),
+                            "Line " + record.line() + ": invalid value for " + header.get(column).trim());
+                }
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    private static void setEventField(EventsDTO event, String field, String value) {
+        switch (field) {
+            case "name" -> event.setName(value);
+            case "description" -> event.setDescription(value);
+            case "displayPicture" -> event.setDisplayPicture(value);
+            case "hostedFrom" -> event.setHostedFrom(LocalDateTime.parse(value));
+            case "hostedTo" -> event.setHostedTo(LocalDateTime.parse(value));
+            case "venue" -> event.setVenue(value);
+            case "ticketAmount" -> event.setTicketAmount(new BigDecimal(value));
+            case "capacity" -> event.setCapacity(Integer.valueOf(value));
+            case "category" -> event.setCategory(value);
+            case "location" -> event.setLocation(value);
+            default -> {
+                // Unknown columns are ignored
+            }
+        }
+    }
+
+    /**
+     * A CSV record and the line it starts on, counting from 1
+     */
+    private record CsvRecord(int line, List<String> values) {
+    }
+
+    /**
+     * Split a CSV document into records. Line breaks end a record only
+     * outside quotes, so a quoted value keeps its line breaks.
+     */
+    private static List<CsvRecord> parseCsvRecords(String csv) {
+        List<CsvRecord> records = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int recordLine = 1;
+
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (c == '\n') {
+                line++;
+            }
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    continue;
+                }
+                values.add(current.toString());
+                records.add(new CsvRecord(recordLine, values));
+                values = new ArrayList<>();
+                current.setLength(0);
+                recordLine = line;
+            } else {
+                current.append(c);
+            }
+        }
+        if (!values.isEmpty() || current.length() > 0) {
+            values.add(current.toString());
+            records.add(new CsvRecord(recordLine, values));
+        }
+        return records;
+    }
+
+    /**
+     * Encode an event listing position as an opaque cursor token
+     * @param hostedFrom hosted_from of the last event on the page
+     * @param id id of the last event on the page
+     * @return URL-safe cursor token
+     */
+    public static String encodeCursor(LocalDateTime hostedFrom, Long id) {
+        String raw = hostedFrom + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor token produced by {@link #encodeCursor}
+     * @param cursor the cursor token
+     * @return the decoded position
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static EventCursorDTO decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime hostedFrom = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new EventCursorDTO(hostedFrom, id);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away if there is none.
+     * Used to keep in-memory state from seeing writes that are later rolled back.
+     * @param action the action to run
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
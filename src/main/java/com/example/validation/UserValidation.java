@@ -2,6 +2,9 @@ package com.example.validation;
 
 import com.example.dto.UserDTO;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * User Validation Interface
  * Defines validation methods for User operations
@@ -15,6 +18,15 @@ public interface UserValidation {
      */
     void validateForCreate(UserDTO userDto);
 
+    /**
+     * Validate a batch of users for creation.
+     * Uniqueness is checked for the whole batch at once, both against
+     * the database and within the batch itself.
+     * @param userDtos the user DTOs to validate
+     * @return validation errors keyed by position in the batch, empty if all are valid
+     */
+    Map<Integer, String> validateForBatchCreate(List<UserDTO> userDtos);
+
     /**
      * Validate user data for update
      * @param userDto the user DTO to validate
@@ -22,6 +34,20 @@ public interface UserValidation {
      */
     void validateForUpdate(UserDTO userDto);
 
+    /**
+     * Check whether a username is free, answered from the existence filter when possible
+     * @param username the username to check
+     * @return true if no user has this username
+     */
+    boolean isUsernameAvailable(String username);
+
+    /**
+     * Check whether an email is free, answered from the existence filter when possible
+     * @param email the email to check
+     * @return true if no user has this email
+     */
+    boolean isEmailAvailable(String email);
+
     /**
      * Validate user ID
      * @param id the user ID to validate
@@ -2,10 +2,20 @@ package com.example.validation.impl;
 
 import com.example.dao.UserRepository;
 import com.example.dto.UserDTO;
+import com.example.index.UserExistenceFilter;
 import com.example.validation.UserValidation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
 /**
@@ -18,11 +28,16 @@ public class UserValidationImpl implements UserValidation {
     private static final String EMAIL_PATTERN = "^[A-Za-z0-9+_.-]+@(.+)$";
     private static final Pattern emailPattern = Pattern.compile(EMAIL_PATTERN);
 
+    // Keeps IN lists well below the database bind parameter limit
+    private static final int IN_QUERY_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final UserExistenceFilter existenceFilter;
 
     @Autowired
-    public UserValidationImpl(UserRepository userRepository) {
+    public UserValidationImpl(UserRepository userRepository, UserExistenceFilter existenceFilter) {
         this.userRepository = userRepository;
+        this.existenceFilter = existenceFilter;
     }
 
     @Override
@@ -34,16 +49,68 @@ public class UserValidationImpl implements UserValidation {
         validateBasicFields(userDto);
 
         // Check for duplicate username
-        if (userRepository.existsByUsername(userDto.getUsername())) {
+        if (existenceFilter.usernameExists(userDto.getUsername(), userRepository::existsByUsername)) {
             throw new IllegalArgumentException("User already exists with username: " + userDto.getUsername());
         }
 
         // Check for duplicate email
-        if (userRepository.existsByEmail(userDto.getEmail())) {
+        if (existenceFilter.emailExists(userDto.getEmail(), userRepository::existsByEmail)) {
             throw new IllegalArgumentException("User already exists with email: " + userDto.getEmail());
         }
     }
 
+    @Override
+    public Map<Integer, String> validateForBatchCreate(List<UserDTO> userDtos) {
+        Map<Integer, String> errors = new HashMap<>();
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDTO userDto = userDtos.get(i);
+            if (userDto == null) {
+                errors.put(i, "User data cannot be null");
+                continue;
+            }
+
+            try {
+                validateBasicFields(userDto);
+            } catch (IllegalArgumentException e) {
+                errors.put(i, e.getMessage());
+                continue;
+            }
+
+            // Duplicates within the batch, first valid occurrence wins; a rejected row claims neither value
+            if (usernames.contains(userDto.getUsername())) {
+                errors.put(i, "Duplicate username in batch: " + userDto.getUsername());
+            } else if (emails.contains(userDto.getEmail())) {
+                errors.put(i, "Duplicate email in batch: " + userDto.getEmail());
+            } else {
+                usernames.add(userDto.getUsername());
+                emails.add(userDto.getEmail());
+            }
+        }
+
+        // Only values the existence filter cannot rule out are looked up
+        Set<String> takenUsernames = findExisting(usernames, existenceFilter::mightHaveUsername,
+                userRepository::findExistingUsernames);
+        Set<String> takenEmails = findExisting(emails, existenceFilter::mightHaveEmail,
+                userRepository::findExistingEmails);
+
+        for (int i = 0; i < userDtos.size(); i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            UserDTO userDto = userDtos.get(i);
+            if (takenUsernames.contains(userDto.getUsername())) {
+                errors.put(i, "User already exists with username: " + userDto.getUsername());
+            } else if (takenEmails.contains(userDto.getEmail())) {
+                errors.put(i, "User already exists with email: " + userDto.getEmail());
+            }
+        }
+
+        return errors;
+    }
+
     @Override
     public void validateForUpdate(UserDTO userDto) {
         if (userDto == null) {
@@ -57,7 +124,7 @@ public class UserValidationImpl implements UserValidation {
         validateBasicFields(userDto);
 
         // Check for duplicate username (excluding current user)
-        if (userRepository.existsByUsername(userDto.getUsername())) {
+        if (existenceFilter.usernameExists(userDto.getUsername(), userRepository::existsByUsername)) {
             userRepository.findByUsername(userDto.getUsername()).ifPresent(existingUser -> {
                 if (!existingUser.getId().equals(userDto.getId())) {
                     throw new IllegalArgumentException("User already exists with username: " + userDto.getUsername());
@@ -66,7 +133,7 @@ public class UserValidationImpl implements UserValidation {
         }
 
         // Check for duplicate email (excluding current user)
-        if (userRepository.existsByEmail(userDto.getEmail())) {
+        if (existenceFilter.emailExists(userDto.getEmail(), userRepository::existsByEmail)) {
             userRepository.findByEmail(userDto.getEmail()).ifPresent(existingUser -> {
                 if (!existingUser.getId().equals(userDto.getId())) {
                     throw new IllegalArgumentException("User already exists with email: " + userDto.getEmail());
@@ -75,6 +142,16 @@ public class UserValidationImpl implements UserValidation {
         }
     }
 
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return !existenceFilter.usernameExists(username, userRepository::existsByUsername);
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return !existenceFilter.emailExists(email, userRepository::existsByEmail);
+    }
+
     @Override
     public void validateId(Long id) {
         if (id == null || id <= 0) {
@@ -111,5 +188,31 @@ public class UserValidationImpl implements UserValidation {
             throw new IllegalArgumentException("Last name is required");
         }
     }
-}
 
+    /**
+     * Run an IN query over a large set of values in chunks
+     * @param values the values to look up
+     * @param candidate false for values known not to exist, which are not queried
+     * @param query returns the values that already exist
+     * @return all values that already exist
+     */
+    private Set<String> findExisting(Collection<String> values, Predicate<String> candidate,
+                                     Function<Collection<String>, List<String>> query) {
+        Set<String> existing = new HashSet<>();
+        List<String> chunk = new ArrayList<>(IN_QUERY_CHUNK_SIZE);
+        for (String value : values) {
+            if (!candidate.test(value)) {
+                continue;
+            }
+            chunk.add(value);
+            if (chunk.size() == IN_QUERY_CHUNK_SIZE) {
+                existing.addAll(query.apply(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            existing.addAll(query.apply(chunk));
+        }
+        return existing;
+    }
+}
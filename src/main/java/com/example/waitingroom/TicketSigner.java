@@ -0,0 +1,85 @@
+package com.example.waitingroom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Ticket Signer
+ * Issues and checks HMAC-SHA256 signed waiting room tickets, so a client's
+ * place in line and its admission travel with the client and checking one
+ * needs no lookup. A token is base64url(payload) "." base64url(signature).
+ */
+public final class TicketSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs;
+
+    public TicketSigner(byte[] secret) {
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    public String sign(Ticket ticket) {
+        byte[] payload = (ticket.kind() + ":" + ticket.eventId() + ":" + ticket.roomId() + ":"
+                + ticket.sequence() + ":" + ticket.expiresAt()).getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(macs.get().doFinal(payload));
+    }
+
+    /**
+     * Check a token's signature and read its ticket; expiry is left to the caller
+     * @return the ticket, or null if the token is malformed or was not signed with this secret
+     */
+    public Ticket verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+                return null;
+            }
+            String[] fields = new String(payload, StandardCharsets.UTF_8).split(":");
+            if (fields.length != 5 || fields[0].length() != 1) {
+                return null;
+            }
+            return new Ticket(fields[0].charAt(0), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                    Long.parseLong(fields[3]), Long.parseLong(fields[4]));
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or a number that does not parse
+            return null;
+        }
+    }
+
+    /**
+     * @param kind QUEUE for a place in line, ADMISSION for the right to book
+     * @param expiresAt epoch millis after which the ticket is no longer accepted
+     */
+    public record Ticket(char kind, long eventId, long roomId, long sequence, long expiresAt) {
+        public static final char QUEUE = 'Q';
+        public static final char ADMISSION = 'A';
+
+        public boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
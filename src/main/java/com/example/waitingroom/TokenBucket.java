@@ -0,0 +1,68 @@
+package com.example.waitingroom;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token Bucket
+ * Refills at a fixed rate up to a burst capacity. Lock-free: the whole state
+ * is the time at which the bucket would next be empty, moved forward by CAS.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final LongSupplier nanoClock;
+    // Bucket is empty at this time and holds (now - emptyAt) / nanosPerToken tokens at now
+    private final AtomicLong emptyAt;
+
+    /**
+     * @param ratePerSecond tokens added per second
+     * @param capacity most tokens the bucket holds; the bucket starts full
+     * @param nanoClock time source, System::nanoTime outside simulations
+     */
+    public TokenBucket(double ratePerSecond, long capacity, LongSupplier nanoClock) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.capacityNanos = Math.multiplyExact(capacity, nanosPerToken);
+        this.nanoClock = nanoClock;
+        this.emptyAt = new AtomicLong(nanoClock.getAsLong() - capacityNanos);
+    }
+
+    /**
+     * Take as many tokens as are available, up to a maximum
+     * @param max most tokens wanted
+     * @return tokens taken, between 0 and max
+     */
+    public long takeUpTo(long max) {
+        if (max <= 0) {
+            return 0;
+        }
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = emptyAt.get();
+            // Tokens beyond the capacity were never kept
+            long base = Math.max(current, now - capacityNanos);
+            long taken = Math.min(max, (now - base) / nanosPerToken);
+            if (taken == 0) {
+                return 0;
+            }
+            if (emptyAt.compareAndSet(current, base + taken * nanosPerToken)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Tokens currently available (a snapshot)
+     */
+    public long available() {
+        long now = nanoClock.getAsLong();
+        return (now - Math.max(emptyAt.get(), now - capacityNanos)) / nanosPerToken;
+    }
+}
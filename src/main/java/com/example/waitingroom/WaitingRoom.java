@@ -0,0 +1,128 @@
+package com.example.waitingroom;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Waiting Room
+ * FIFO queue of the clients waiting to book one event. A client is only
+ * its place in line: joining hands out the next sequence number, and
+ * everyone up to the admitted mark may book. The mark moves forward by the
+ * tokens a token bucket allows, so nothing is stored per waiting client and
+ * a position is one subtraction. Only clients that used their admission are
+ * remembered, so each place in line books once.
+ */
+public final class WaitingRoom {
+
+    private final Long eventId;
+    // Tells this room apart from earlier rooms of the same event in signed tokens
+    private final long roomId;
+    private final double ratePerSecond;
+    private final long burst;
+    private final TokenBucket admissions;
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong admitted = new AtomicLong();
+    // Sequence numbers whose admission was used, with when they may be forgotten (epoch millis)
+    private final Map<Long, Long> used = new ConcurrentHashMap<>();
+
+    /**
+     * @param ratePerSecond clients admitted per second
+     * @param burst clients admitted at once after a quiet spell, including the first ones
+     * @param nanoClock time source, System::nanoTime outside simulations
+     */
+    public WaitingRoom(Long eventId, long roomId, double ratePerSecond, long burst, LongSupplier nanoClock) {
+        this.eventId = eventId;
+        this.roomId = roomId;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.admissions = new TokenBucket(ratePerSecond, burst, nanoClock);
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public long getRoomId() {
+        return roomId;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public long getBurst() {
+        return burst;
+    }
+
+    /**
+     * Join the back of the line
+     * @return the client's sequence number, starting at 1
+     */
+    public long join() {
+        return joined.incrementAndGet();
+    }
+
+    /**
+     * Admit as many waiting clients as the token bucket allows
+     * @return sequence number up to which clients are admitted
+     */
+    public long advance() {
+        long current = admitted.get();
+        long waiting = joined.get() - current;
+        if (waiting <= 0) {
+            return current;
+        }
+        long granted = admissions.takeUpTo(waiting);
+        if (granted == 0) {
+            return current;
+        }
+        // Racing threads may together admit past the end of the line; those
+        // tokens then go to the next clients to join, so the rate still holds
+        return admitted.addAndGet(granted);
+    }
+
+    /**
+     * Clients ahead of a sequence number, after admitting whoever the rate allows
+     * @return 0 once the client is admitted
+     */
+    public long position(long sequence) {
+        return Math.max(0, sequence - advance());
+    }
+
+    /**
+     * Use up an admitted client's admission
+     * @param keepUntilMillis when no token for this sequence can be valid any more
+     * @return false if it was already used
+     */
+    public boolean use(long sequence, long keepUntilMillis) {
+        return used.putIfAbsent(sequence, keepUntilMillis) == null;
+    }
+
+    /**
+     * Give back an admission whose booking did not go through
+     */
+    public void unuse(long sequence) {
+        used.remove(sequence);
+    }
+
+    /**
+     * Forget used admissions no token can be presented for any more
+     */
+    public void forgetUsed(long nowMillis) {
+        used.values().removeIf(keepUntil -> keepUntil <= nowMillis);
+    }
+
+    public int getUsed() {
+        return used.size();
+    }
+
+    public long getJoined() {
+        return joined.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.get();
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.waitingroom;
+
+import com.example.ApplicationConstants;
+import com.example.dto.WaitingRoomDTO;
+import com.example.dto.WaitingRoomStatsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Waiting Room Manager
+ * Keeps the waiting rooms operators open for hot events. While a room is
+ * open, booking that event needs an admission token, earned by waiting in
+ * line until the room's token bucket lets the client in.
+ * Queue and admission tokens are signed, so polling and the booking check
+ * are answered from memory. An admission books once: the room remembers the
+ * places in line that used theirs until no token for them can be valid.
+ * Rooms live in this instance only.
+ */
+@Component
+public class WaitingRoomManager {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitingRoomManager.class);
+
+    private final Map<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final TicketSigner signer;
+    private final double defaultRatePerSecond;
+    private final long defaultBurst;
+    private final long queueTokenTtlMillis;
+    private final long admissionTtlMillis;
+
+    private final Counter joins;
+    private final Counter admissionsAccepted;
+    private final Counter admissionsRejected;
+    private final Counter admissionsReused;
+
+    @Autowired
+    public WaitingRoomManager(MeterRegistry meterRegistry,
+                              @Value("${waiting-room.secret:}") String secret,
+                              @Value("${waiting-room.admit-per-second:50}") double defaultRatePerSecond,
+                              @Value("${waiting-room.burst:100}") long defaultBurst,
+                              @Value("${waiting-room.queue-token-ttl-seconds:7200}") long queueTokenTtlSeconds,
+                              @Value("${waiting-room.admission-ttl-seconds:600}") long admissionTtlSeconds) {
+        this.signer = new TicketSigner(secretBytes(secret));
+        this.defaultRatePerSecond = defaultRatePerSecond;
+        this.defaultBurst = defaultBurst;
+        this.queueTokenTtlMillis = queueTokenTtlSeconds * 1000;
+        this.admissionTtlMillis = admissionTtlSeconds * 1000;
+
+        this.joins = Counter.builder("waiting.room.joins")
+                .description("Clients that joined a waiting room")
+                .register(meterRegistry);
+        this.admissionsAccepted = admissionCounter(meterRegistry, "accepted");
+        this.admissionsRejected = admissionCounter(meterRegistry, "rejected");
+        this.admissionsReused = admissionCounter(meterRegistry, "reused");
+    }
+
+    /**
+     * Open a waiting room for an event
+     * @param ratePerSecond clients admitted per second, or null for waiting-room.admit-per-second
+     * @param burst clients admitted at once, or null for waiting-room.burst
+     * @throws IllegalArgumentException if the rate or burst is not positive
+     * @throws IllegalStateException if the event already has a room
+     */
+    public WaitingRoomStatsDTO open(Long eventId, Double ratePerSecond, Long burst) {
+        double rate = ratePerSecond == null ? defaultRatePerSecond : ratePerSecond;
+        long size = burst == null ? defaultBurst : burst;
+        if (rate <= 0 || size <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive numbers");
+        }
+        WaitingRoom room = new WaitingRoom(eventId, random.nextLong(), rate, size, System::nanoTime);
+        if (rooms.putIfAbsent(eventId, room) != null) {
+            throw new IllegalStateException("Waiting room already open for event: " + eventId);
+        }
+        log.info("Opened waiting room for event {} admitting {}/s", eventId, rate);
+        return toStats(room);
+    }
+
+    /**
+     * Close an event's waiting room; booking it no longer needs admission
+     * @throws RuntimeException if the event has no room
+     */
+    public WaitingRoomStatsDTO close(Long eventId) {
+        WaitingRoom room = rooms.remove(eventId);
+        if (room == null) {
+            throw new RuntimeException(ApplicationConstants.WAITING_ROOM_NOT_FOUND + eventId);
+        }
+        log.info("Closed waiting room for event {} after admitting {} of {}",
+                eventId, room.getAdmitted(), room.getJoined());
+        return toStats(room);
+    }
+
+    public List<WaitingRoomStatsDTO> getStats() {
+        return rooms.values().stream().map(this::toStats).toList();
+    }
+
+    /**
+     * Take a place at the back of an event's line
+     * @return the queue token and position, with an admission token if the client got straight in
+     * @throws RuntimeException if the event has no room
+     */
+    public WaitingRoomDTO join(Long eventId) {
+        WaitingRoom room = requireRoom(eventId);
+        long sequence = room.join();
+        joins.increment();
+        TicketSigner.Ticket ticket = new TicketSigner.Ticket(TicketSigner.Ticket.QUEUE, eventId, room.getRoomId(),
+                sequence, System.currentTimeMillis() + queueTokenTtlMillis);
+        return status(room, ticket, signer.sign(ticket));
+    }
+
+    /**
+     * Get a client's place in line, and its admission token once admitted
+     * @param queueToken the token handed out on join
+     * @throws IllegalArgumentException if the token is invalid, for another room, or expired
+     * @throws RuntimeException if the event has no room
+     */
+    public WaitingRoomDTO getStatus(Long eventId, String queueToken) {
+        WaitingRoom room = requireRoom(eventId);
+        TicketSigner.Ticket ticket = signer.verify(queueToken);
+        if (ticket == null || ticket.kind() != TicketSigner.Ticket.QUEUE
+                || ticket.eventId() != eventId || ticket.roomId() != room.getRoomId()) {
+            throw new IllegalArgumentException("Invalid queue token");
+        }
+        if (ticket.isExpired(System.currentTimeMillis())) {
+            throw new IllegalArgumentException("Queue token expired, join again");
+        }
+        return status(room, ticket, queueToken);
+    }
+
+    /**
+     * Use up a client's admission to book an event: always true without a room,
+     * otherwise the admission token must be valid for the current room and its
+     * place in line must not have booked already
+     */
+    public boolean useAdmission(Long eventId, String admissionToken) {
+        WaitingRoom room = eventId == null ? null : rooms.get(eventId);
+        if (room == null) {
+            return true;
+        }
+        TicketSigner.Ticket ticket = verifyAdmission(room, admissionToken);
+        if (ticket == null) {
+            admissionsRejected.increment();
+            return false;
+        }
+        // Admissions for this place can be issued until its queue token expires, and stay valid a while after
+        long keepUntil = System.currentTimeMillis() + queueTokenTtlMillis + admissionTtlMillis;
+        if (!room.use(ticket.sequence(), keepUntil)) {
+            admissionsReused.increment();
+            return false;
+        }
+        admissionsAccepted.increment();
+        return true;
+    }
+
+    /**
+     * Give back an admission used by a booking that did not go through, so the client can try again
+     */
+    public void returnAdmission(Long eventId, String admissionToken) {
+        WaitingRoom room = eventId == null ? null : rooms.get(eventId);
+        if (room == null) {
+            return;
+        }
+        TicketSigner.Ticket ticket = verifyAdmission(room, admissionToken);
+        if (ticket != null) {
+            room.unuse(ticket.sequence());
+        }
+    }
+
+    /**
+     * Forget used admissions whose tokens have all expired
+     */
+    @Scheduled(fixedDelayString = "${waiting-room.forget-used-interval-ms:60000}")
+    public void forgetUsedAdmissions() {
+        long now = System.currentTimeMillis();
+        rooms.values().forEach(room -> room.forgetUsed(now));
+    }
+
+    private TicketSigner.Ticket verifyAdmission(WaitingRoom room, String admissionToken) {
+        TicketSigner.Ticket ticket = signer.verify(admissionToken);
+        boolean valid = ticket != null && ticket.kind() == TicketSigner.Ticket.ADMISSION
+                && ticket.eventId() == room.getEventId() && ticket.roomId() == room.getRoomId()
+                && !ticket.isExpired(System.currentTimeMillis());
+        return valid ? ticket : null;
+    }
+
+    private WaitingRoomDTO status(WaitingRoom room, TicketSigner.Ticket ticket, String queueToken) {
+        long position = room.position(ticket.sequence());
+        if (position > 0) {
+            return new WaitingRoomDTO(room.getEventId(), queueToken, position, null, null);
+        }
+        // Each poll after admission issues a fresh token, until the queue token expires; all of them share one use
+        long expiresAt = System.currentTimeMillis() + admissionTtlMillis;
+        String admissionToken = signer.sign(new TicketSigner.Ticket(TicketSigner.Ticket.ADMISSION,
+                room.getEventId(), room.getRoomId(), ticket.sequence(), expiresAt));
+        return new WaitingRoomDTO(room.getEventId(), queueToken, 0L, admissionToken, Instant.ofEpochMilli(expiresAt));
+    }
+
+    private WaitingRoom requireRoom(Long eventId) {
+        WaitingRoom room = rooms.get(eventId);
+        if (room == null) {
+            throw new RuntimeException(ApplicationConstants.WAITING_ROOM_NOT_FOUND + eventId);
+        }
+        return room;
+    }
+
+    private WaitingRoomStatsDTO toStats(WaitingRoom room) {
+        return new WaitingRoomStatsDTO(room.getEventId(), room.getRatePerSecond(), room.getBurst(),
+                room.getJoined(), room.getAdmitted());
+    }
+
+    private byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("waiting-room.secret is not set, using a random one: tokens will not survive a restart");
+        byte[] generated = new byte[32];
+        random.nextBytes(generated);
+        return generated;
+    }
+
+    private static Counter admissionCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("waiting.room.admission.checks")
+                .description("Booking attempts on events with an open waiting room, by admission check outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
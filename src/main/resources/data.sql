@@ -17,3 +17,43 @@ INSERT INTO users (username, email, first_name, last_name, phone_number) VALUES
 ('bob_johnson', 'bob.johnson@example.com', 'Bob', 'Johnson', '+1-555-0103')
 ON CONFLICT (username) DO NOTHING;
 
+
+-- Keyset pagination over active events: ORDER BY hosted_from, id
+CREATE INDEX IF NOT EXISTS idx_events_active_hosted_from_id
+    ON events (hosted_from, id)
+    WHERE status = 1;
+
+-- Time-window queries over active events: interval overlap (&&) on
+-- [hosted_from, hosted_to], used while the in-memory interval index is cold
+CREATE INDEX IF NOT EXISTS idx_events_active_hosted_range
+    ON events USING gist (tsrange(hosted_from, GREATEST(hosted_from, hosted_to), '[]'))
+    WHERE status = 1;
+
+-- Seat holds open during checkout; expiries are tracked in memory, this table
+-- only lets open holds survive a restart
+CREATE TABLE IF NOT EXISTS seat_holds (
+    id UUID PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    user_id BIGINT,
+    quantity INT NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Responses to POST requests sent with an Idempotency-Key, replayed on retries;
+-- a row without a status is a claim by a request still running
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope VARCHAR(50) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64) NOT NULL,
+    status INT,
+    body BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+-- How far each booking journal has been folded into events.tickets_booked;
+-- moved in the same transaction as the counts it covers
+CREATE TABLE IF NOT EXISTS booking_journal_state (
+    name VARCHAR(100) PRIMARY KEY,
+    applied_sequence BIGINT NOT NULL
+);
@@ -0,0 +1,50 @@
+package com.example.cache;
+
+import com.example.DatabaseTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reference cache stats and invalidation are served on the management port, not the public one
+ */
+class ReferenceCachesEndpointTest extends DatabaseTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Test
+    void notServedOnThePublicPort() {
+        assertThat(rest.getForEntity("/cache", String.class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(rest.postForEntity("/cache/invalidate", null, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void statsAndInvalidationOnTheManagementPort() throws Exception {
+        String url = "http://localhost:" + managementPort + "/actuator/referencecaches";
+
+        ResponseEntity<String> stats = rest.getForEntity(url, String.class);
+        ResponseEntity<Void> invalidated = rest.exchange(url, HttpMethod.DELETE, null, Void.class);
+
+        assertThat(stats.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode caches = objectMapper.readTree(stats.getBody());
+        assertThat(caches.isArray()).isTrue();
+        assertThat(caches).isNotEmpty();
+        assertThat(invalidated.getStatusCode().is2xxSuccessful()).isTrue();
+    }
+}
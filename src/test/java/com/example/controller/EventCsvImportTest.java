@@ -0,0 +1,65 @@
+package com.example.controller;
+
+import com.example.DatabaseTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSV import through POST /events/bulk: a line whose values cannot be
+ * parsed becomes an error row and the other lines are still imported.
+ */
+class EventCsvImportTest extends DatabaseTest {
+
+    private static final String NAME_PREFIX = "CSV import ";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void deleteEvents() {
+        jdbcTemplate.update("DELETE FROM events WHERE name LIKE ?", NAME_PREFIX + "%");
+    }
+
+    @Test
+    void unparseableLinesAreReportedAndTheRestImported() throws Exception {
+        String csv = "name,hostedFrom,hostedTo,venue,ticketAmount,capacity,category,location\n"
+                + NAME_PREFIX + "1,2031-01-01T18:00,2031-01-01T21:00,Hall,10.00,100,MUSIC,Pune\n"
+                + NAME_PREFIX + "2,tomorrow,2031-01-02T21:00,Hall,10.00,100,MUSIC,Pune\n"
+                + NAME_PREFIX + "3,2031-01-03T18:00,2031-01-03T21:00,Hall,ten,100,MUSIC,Pune\n"
+                + NAME_PREFIX + "4,2031-01-04T18:00,2031-01-04T21:00,Hall,10.00,100,SPORTS,Pune\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<String> response = rest.postForEntity("/events/bulk", new HttpEntity<>(csv, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        JsonNode rows = objectMapper.readTree(response.getBody()).get("data");
+        assertThat(rows).hasSize(4);
+        assertThat(rows.get(0).get("status").asText()).isEqualTo("created");
+        assertThat(rows.get(1).get("status").asText()).isEqualTo("error");
+        assertThat(rows.get(1).get("message").asText()).isEqualTo("Line 3: invalid value for hostedFrom");
+        assertThat(rows.get(2).get("status").asText()).isEqualTo("error");
+        assertThat(rows.get(2).get("message").asText()).isEqualTo("Line 4: invalid value for ticketAmount");
+        assertThat(rows.get(3).get("status").asText()).isEqualTo("created");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM events WHERE name LIKE ? ORDER BY name",
+                String.class, NAME_PREFIX + "%")).containsExactly(NAME_PREFIX + "1", NAME_PREFIX + "4");
+    }
+}
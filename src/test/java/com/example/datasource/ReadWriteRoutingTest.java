@@ -0,0 +1,145 @@
+package com.example.datasource;
+
+import com.example.DatabaseTest;
+import com.example.metrics.QueryCounter;
+import com.example.metrics.QueryCountingDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing between two embedded PostgreSQL instances, the shared
+ * test database as primary and one more as replica. Which instance served a
+ * statement is told by the port it reports. Stopping the replica is the last test.
+ */
+@TestPropertySource(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.read-your-writes-ms=60000",
+        "datasource.routing.health-check-interval-ms=3600000"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DirtiesContext
+class ReadWriteRoutingTest extends DatabaseTest {
+
+    private static final String PORT_SQL = "SELECT current_setting('port')::int";
+
+    private static EmbeddedPostgres replica;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSourceRouter router;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres database = startReplica();
+        registry.add("datasource.routing.replica-urls", () -> database.getJdbcUrl("postgres", "postgres"));
+        registry.add("datasource.routing.replica-username", () -> "postgres");
+        registry.add("datasource.routing.replica-password", () -> "");
+    }
+
+    @AfterEach
+    void clearClient() {
+        RoutingClient.clear();
+    }
+
+    @AfterAll
+    static void stopReplica() throws IOException {
+        replica.close();
+    }
+
+    @Test
+    @Order(1)
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(readPort()).isEqualTo(replica.getPort());
+        assertThat(writePort()).isNotEqualTo(replica.getPort());
+    }
+
+    @Test
+    @Order(2)
+    void writerReadsItsWritesFromThePrimary() {
+        RoutingClient.set("writer");
+        int primaryPort = writePort();
+
+        assertThat(readPort()).isEqualTo(primaryPort);
+
+        RoutingClient.set("someone-else");
+        assertThat(readPort()).isEqualTo(replica.getPort());
+    }
+
+    @Test
+    @Order(3)
+    void routedStatementsAreCounted() {
+        assertThat(dataSource).isInstanceOf(QueryCountingDataSource.class);
+
+        QueryCounter.start();
+        readPort();
+        writePort();
+        assertThat(QueryCounter.stop()).isEqualTo(2);
+    }
+
+    @Test
+    @Order(4)
+    void readsFallBackToThePrimaryOnceTheReplicaStops() throws IOException {
+        int primaryPort = writePort();
+        replica.close();
+
+        router.checkReplicas();
+
+        assertThat(router.healthyReplicas()).isZero();
+        assertThat(readPort()).isEqualTo(primaryPort);
+    }
+
+    private int readPort() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> jdbcTemplate.queryForObject(PORT_SQL, Integer.class));
+    }
+
+    /**
+     * Port of the instance a read-write transaction ran on; committing it pins the current client
+     */
+    private int writePort() {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> jdbcTemplate.queryForObject(PORT_SQL, Integer.class));
+    }
+
+    private static synchronized EmbeddedPostgres startReplica() {
+        if (replica == null) {
+            try {
+                replica = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start embedded PostgreSQL replica", e);
+            }
+            // Same tables and reference rows as the primary, as streaming replication would give it
+            new ResourceDatabasePopulator(new ClassPathResource("schema-test.sql")).execute(replica.getPostgresDatabase());
+        }
+        return replica;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.idempotency;
+
+import com.example.DatabaseTest;
+import com.example.cache.CacheRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Idempotency-Key handling on POST /users and POST /events, through the
+ * controllers and the database.
+ */
+class IdempotencyStoreTest extends DatabaseTest {
+
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheRegistry cacheRegistry;
+
+    @Test
+    void retryIsReplayedFromTheDatabaseAfterTheCacheIsCleared() {
+        String key = UUID.randomUUID().toString();
+        String username = uniqueUsername();
+
+        ResponseEntity<String> first = post("/users", key, userBody(username));
+        cacheRegistry.invalidateAll();
+        ResponseEntity<String> retry = post("/users", key, userBody(username));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(first.getHeaders().containsKey(REPLAYED_HEADER)).isFalse();
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(first.getBody());
+        assertThat(countUsers(username)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicatesCreateOneUser() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String username = uniqueUsername();
+        int requests = 6;
+
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> responses = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return post("/users", key, userBody(username));
+                }));
+            }
+            start.countDown();
+
+            int executed = 0;
+            for (Future<ResponseEntity<String>> response : responses) {
+                ResponseEntity<String> entity = response.get();
+                assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                if (!entity.getHeaders().containsKey(REPLAYED_HEADER)) {
+                    executed++;
+                }
+            }
+            assertThat(executed).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(countUsers(username)).isEqualTo(1);
+    }
+
+    @Test
+    void keyReusedForAnotherBodyIsRejected() {
+        String key = UUID.randomUUID().toString();
+        String username = uniqueUsername();
+        String otherUsername = uniqueUsername();
+
+        ResponseEntity<String> first = post("/users", key, userBody(username));
+        ResponseEntity<String> reused = post("/users", key, userBody(otherUsername));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(reused.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(countUsers(otherUsername)).isZero();
+    }
+
+    @Test
+    void failedCreateLeavesNoKeyBehind() {
+        String key = UUID.randomUUID().toString();
+        String name = "Idempotency " + key;
+
+        // No venue: the insert fails on the NOT NULL constraint
+        ResponseEntity<String> failed = post("/events", key, eventBody(name, null));
+
+        assertThat(failed.getStatusCode().is5xxServerError()).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys WHERE idempotency_key = ?", Integer.class, key)).isZero();
+        assertThat(countEvents(name)).isZero();
+
+        ResponseEntity<String> retried = post("/events", key, eventBody(name, "Main Hall"));
+
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(retried.getHeaders().containsKey(REPLAYED_HEADER)).isFalse();
+        assertThat(countEvents(name)).isEqualTo(1);
+    }
+
+    private ResponseEntity<String> post(String path, String key, String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", key);
+        return rest.exchange(path, HttpMethod.POST, new HttpEntity<>(body, headers), String.class);
+    }
+
+    private int countUsers(String username) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE username = ?", Integer.class, username);
+    }
+
+    private int countEvents(String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE name = ?", Integer.class, name);
+    }
+
+    private static String uniqueUsername() {
+        return "user_" + UUID.randomUUID().toString().substring(0, 12);
+    }
+
+    private static String userBody(String username) {
+        return """
+                {"username": "%s", "email": "%s@example.com", "firstName": "Test", "lastName": "User",
+                 "phoneNumber": "+1-555-0199"}
+                """.formatted(username, username);
+    }
+
+    private static String eventBody(String name, String venue) {
+        return """
+                {"name": "%s", "description": "idempotency test", "hostedFrom": "2031-01-01T18:00:00",
+                 "hostedTo": "2031-01-01T22:00:00", "category": "MUSIC", "location": "Pune",
+                 "venue": %s, "ticketAmount": 10, "status": 1, "capacity": 100, "ticketsBooked": 0}
+                """.formatted(name, venue == null ? "null" : "\"" + venue + "\"");
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void repeatedAddsCountOnce() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+
+        for (int i = 0; i < 500; i++) {
+            assertThat(filter.add("user" + i + "@example.com")).isTrue();
+        }
+        double expectedFpp = filter.getExpectedFalsePositiveRate();
+        for (int i = 0; i < 500; i++) {
+            // As UserExistenceFilter does for every write: once before commit, once after
+            assertThat(filter.add("user" + i + "@example.com")).isFalse();
+        }
+
+        assertThat(filter.getInsertions()).isEqualTo(500);
+        assertThat(filter.getExpectedFalsePositiveRate()).isEqualTo(expectedFpp);
+        assertThat(filter.mightContain("user42@example.com")).isTrue();
+    }
+}
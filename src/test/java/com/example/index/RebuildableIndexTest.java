@@ -0,0 +1,34 @@
+package com.example.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RebuildableIndexTest {
+
+    @Test
+    void changesCommittedDuringTheLoadReachTheSwappedInState() {
+        Set<Long> initial = new HashSet<>(Set.of(1L));
+        RebuildableIndex<Set<Long>> index = new RebuildableIndex<>(null, null, 0, initial);
+
+        Set<Long> fresh = index.rebuild(() -> {
+            Set<Long> loaded = new HashSet<>(Set.of(1L, 2L));
+            // Committed after the load read its rows: only the replay brings it in
+            index.apply(state -> state.add(3L));
+            // Committed before the load read its rows: seen twice, which adds must tolerate
+            index.apply(state -> state.add(2L));
+            return loaded;
+        });
+
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.current()).isSameAs(fresh).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(initial).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        index.apply(state -> state.add(4L));
+        assertThat(fresh).contains(4L);
+        assertThat(initial).doesNotContain(4L);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventInventoryTest {
+
+    @Test
+    void failedHoldLeavesNothingHeld() {
+        EventInventory inventory = new EventInventory(1L, 10, 8, 4);
+
+        assertThat(inventory.tryHold(3)).isFalse();
+
+        assertThat(inventory.getHeld()).isZero();
+        assertThat(inventory.getBooked()).isEqualTo(8);
+        assertThat(inventory.getAvailable()).isEqualTo(2);
+    }
+
+    @Test
+    void holdsInFlightAreNeverCountedAsBooked() throws Exception {
+        EventInventory inventory = new EventInventory(1L, 100, 40, 8);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger maxBooked = new AtomicInteger();
+
+        List<Thread> holders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread holder = new Thread(() -> {
+                while (!stop.get()) {
+                    if (inventory.tryHold(3)) {
+                        inventory.releaseHold(3);
+                    }
+                }
+            });
+            holder.start();
+            holders.add(holder);
+        }
+        try {
+            for (int i = 0; i < 2_000_000; i++) {
+                maxBooked.accumulateAndGet(inventory.getBooked(), Math::max);
+            }
+        } finally {
+            stop.set(true);
+            for (Thread holder : holders) {
+                holder.join();
+            }
+        }
+
+        assertThat(maxBooked.get()).isEqualTo(40);
+        assertThat(inventory.getHeld()).isZero();
+        assertThat(inventory.getAvailable()).isEqualTo(60);
+    }
+}
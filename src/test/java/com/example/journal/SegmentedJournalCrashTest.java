@@ -0,0 +1,166 @@
+package com.example.journal;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Crash recovery of the segmented journal. A writer JVM appends from 4
+ * threads into 64 KB segments and prints every sequence once it is durable;
+ * it is SIGKILLed mid-segment after a random number of acknowledged records.
+ * Reopening must bring back every acknowledged record, in sequence and
+ * intact, and continue appending right after the last one. The torn case
+ * also leaves a half-written record after the last one, as a machine crash can.
+ */
+class SegmentedJournalCrashTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+    private static final int KILLS = 3;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void recoversEveryAcknowledgedRecordAfterKill(boolean torn) throws Exception {
+        for (int kill = 0; kill < KILLS; kill++) {
+            Path journalDirectory = Files.createDirectory(directory.resolve("kill-" + kill));
+            // A segment holds ~600 records, so this kills somewhere in the first few
+            long acknowledged = killWriter(journalDirectory, ThreadLocalRandom.current().nextLong(700, 3000));
+            if (torn) {
+                tearAfterLastRecord(journalDirectory);
+            }
+
+            try (SegmentedJournal journal = new SegmentedJournal(journalDirectory, SEGMENT_BYTES, 1, true)) {
+                long[] expected = {1};
+                long last = journal.read(1, Integer.MAX_VALUE, (sequence, payload) -> {
+                    assertThat(sequence).isEqualTo(expected[0]);
+                    assertThat(Writer.isValid(payload)).as("payload of record %d", sequence).isTrue();
+                    expected[0]++;
+                });
+
+                assertThat(last).isGreaterThanOrEqualTo(acknowledged);
+                assertThat(journal.getSegmentCount()).isGreaterThan(1);
+                long next = journal.append(Writer.payload(28));
+                journal.awaitDurable(next);
+                assertThat(next).isEqualTo(last + 1);
+            }
+        }
+    }
+
+    /**
+     * Run a writer until it has acknowledged some records, then SIGKILL it
+     * @return the highest sequence it acknowledged
+     */
+    private static long killWriter(Path journalDirectory, long killAfter) throws Exception {
+        Process writer = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                Writer.class.getName(), journalDirectory.toString())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        long acknowledged = 0;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.US_ASCII))) {
+            String line;
+            while (acknowledged < killAfter && (line = output.readLine()) != null) {
+                acknowledged = Math.max(acknowledged, Long.parseLong(line));
+            }
+        } finally {
+            writer.destroyForcibly();
+            assertThat(writer.waitFor(30, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(acknowledged).as("records acknowledged before the kill").isGreaterThanOrEqualTo(killAfter);
+        return acknowledged;
+    }
+
+    /**
+     * Write a record header with a length but a wrong checksum right after the last record
+     */
+    private static void tearAfterLastRecord(Path journalDirectory) throws IOException {
+        Path last;
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            last = files.max(Comparator.naturalOrder()).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+            int position = 0;
+            int length;
+            while (position + SegmentedJournal.HEADER_BYTES <= SEGMENT_BYTES && (length = buffer.getInt(position)) != 0) {
+                position += SegmentedJournal.HEADER_BYTES + length;
+            }
+            if (position + SegmentedJournal.HEADER_BYTES + 64 <= SEGMENT_BYTES) {
+                buffer.putInt(position, 64);
+                buffer.putInt(position + 4, 0xdeadbeef);
+                buffer.putLong(position + 8, Long.MAX_VALUE);
+            }
+            buffer.force();
+        }
+    }
+
+    /**
+     * Journal writer run in its own JVM so it can be killed: appends from 4
+     * threads until killed, printing each sequence once it is durable
+     */
+    static final class Writer {
+
+        public static void main(String[] args) throws Exception {
+            SegmentedJournal journal = new SegmentedJournal(Path.of(args[0]), SEGMENT_BYTES, 1, true);
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                threads[i] = new Thread(() -> {
+                    try {
+                        while (true) {
+                            long sequence = journal.append(payload(ThreadLocalRandom.current().nextInt(1, 200)));
+                            journal.awaitDurable(sequence);
+                            System.out.println(sequence);
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+
+        /**
+         * A payload whose every byte encodes its length, so damage is visible
+         */
+        static byte[] payload(int length) {
+            byte[] payload = new byte[length];
+            for (int i = 0; i < length; i++) {
+                payload[i] = (byte) (length + i);
+            }
+            return payload;
+        }
+
+        static boolean isValid(ByteBuffer payload) {
+            int length = payload.remaining();
+            for (int i = 0; i < length; i++) {
+                if (payload.get(i) != (byte) (length + i)) {
+                    return false;
+                }
+            }
+            return length > 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Who the rate limit filter counts a request against: its API key, and for
+ * keyed requests also their address.
+ */
+class RateLimitFilterTest {
+
+    private static final int LIMIT = 5;
+    private static final int KEYS_PER_ADDRESS = 4;
+    private static final FilterChain EMPTY_CHAIN = (request, response) -> { };
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Map.of("rate-limit.routes[0]", "POST /** " + LIMIT + "/60")));
+        filter = new RateLimitFilter(environment, new ObjectMapper(), new SimpleMeterRegistry(),
+                "X-API-Key", 1000, 4, KEYS_PER_ADDRESS);
+    }
+
+    @Test
+    void keyIsLimitedOnItsOwn() throws Exception {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(post("10.0.0.1", "key-a")).isEqualTo(HttpStatus.OK.value());
+        }
+        assertThat(post("10.0.0.1", "key-a")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(post("10.0.0.1", "key-b")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void newKeyPerRequestRunsIntoTheAddressLimit() throws Exception {
+        int allowed = 0;
+        for (int i = 0; i < 10 * LIMIT * KEYS_PER_ADDRESS; i++) {
+            if (post("10.0.0.2", "made-up-" + i) == HttpStatus.OK.value()) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(LIMIT * KEYS_PER_ADDRESS);
+        assertThat(post("10.0.0.3", "made-up-0")).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void requestWithoutKeyIsLimitedByAddress() throws Exception {
+        for (int i = 0; i < LIMIT; i++) {
+            assertThat(post("10.0.0.4", null)).isEqualTo(HttpStatus.OK.value());
+        }
+        assertThat(post("10.0.0.4", null)).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private int post(String address, String key) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContextPath("/api");
+        request.setRemoteAddr(address);
+        if (key != null) {
+            request.addHeader("X-API-Key", key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, EMPTY_CHAIN);
+        return response.getStatus();
+    }
+}
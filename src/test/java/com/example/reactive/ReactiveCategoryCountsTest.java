@@ -0,0 +1,100 @@
+package com.example.reactive;
+
+import com.example.DatabaseTest;
+import com.example.cache.EventCategoryCounts;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /events/category on the reactive server, against the database: the
+ * counts are the in-memory ones the servlet API serves, not a query per call.
+ */
+@TestPropertySource(properties = {"reactive.enabled=true", "reactive.port=0"})
+class ReactiveCategoryCountsTest extends DatabaseTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private ReactiveCatalogServer reactiveServer;
+
+    @Autowired
+    private EventCategoryCounts categoryCounts;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void countsMatchTheServletApi() throws Exception {
+        ResponseEntity<String> created = rest.postForEntity("/events",
+                jsonRequest(eventBody("Reactive count " + UUID.randomUUID())), String.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Map<String, Long> reactive = reactiveCounts();
+        assertThat(reactive).isEqualTo(counts(rest.getForEntity("/events/category", String.class)));
+        assertThat(reactive.get("MUSIC")).isPositive();
+    }
+
+    @Test
+    void countsAreReadFromMemoryUntilReconciled() throws Exception {
+        categoryCounts.reconcile();
+        Map<String, Long> before = reactiveCounts();
+
+        // Written behind the application's back, so only a recount sees it
+        jdbcTemplate.update("INSERT INTO events (name, hosted_from, hosted_to, category_id, location_id, venue, "
+                        + "ticket_amount, status, capacity, tickets_booked, created_at, updated_at) "
+                        + "SELECT ?, now(), now(), c.id, l.id, 'Hall', 10, 1, 10, 0, now(), now() "
+                        + "FROM event_category c, locations l WHERE c.name = 'SPORTS' AND l.city = 'Pune'",
+                "Reactive direct " + UUID.randomUUID());
+
+        assertThat(reactiveCounts()).isEqualTo(before);
+        categoryCounts.reconcile();
+        assertThat(reactiveCounts().get("SPORTS")).isEqualTo(before.get("SPORTS") + 1);
+    }
+
+    private Map<String, Long> reactiveCounts() throws Exception {
+        return counts(rest.getForEntity("http://localhost:" + reactiveServer.getPort() + "/api/events/category", String.class));
+    }
+
+    private Map<String, Long> counts(ResponseEntity<String> response) throws Exception {
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Long> counts = new HashMap<>();
+        for (JsonNode category : objectMapper.readTree(response.getBody()).get("data")) {
+            counts.put(category.get("categoryName").asText(), category.get("eventCount").asLong());
+        }
+        return counts;
+    }
+
+    private static HttpEntity<String> jsonRequest(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
+    private static String eventBody(String name) {
+        return """
+                {"name": "%s", "description": "reactive count test", "hostedFrom": "2031-01-01T18:00:00",
+                 "hostedTo": "2031-01-01T22:00:00", "category": "MUSIC", "location": "Pune",
+                 "venue": "Main Hall", "ticketAmount": 10, "status": 1, "capacity": 100, "ticketsBooked": 0}
+                """.formatted(name);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.service;
+
+import com.example.DatabaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporting a million events keeps the heap flat: rows are streamed from a
+ * cursor straight into the response, never collected. Heap in use is
+ * sampled after a GC every 32 MB of output, and must stay within a small
+ * margin of where it started, far below what the rows would take if held.
+ */
+class EventExportTest extends DatabaseTest {
+
+    private static final int ROWS = 1_000_000;
+    private static final String NAME_PREFIX = "Export row ";
+    private static final long SAMPLE_EVERY_BYTES = 32L * 1024 * 1024;
+    // A million EventsDTOs with their strings take several hundred MB
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertEvents() {
+        jdbcTemplate.update("INSERT INTO events (name, description, hosted_from, hosted_to, created_at, updated_at, "
+                        + "category_id, location_id, venue, ticket_amount, status, capacity, tickets_booked) "
+                        + "SELECT ? || n, 'Live performance number ' || n || ' with special guests', "
+                        + "timestamp '2031-01-01 18:00' + n * interval '1 minute', "
+                        + "timestamp '2031-01-01 21:00' + n * interval '1 minute', now(), now(), "
+                        + "c.id, l.id, 'Venue ' || n % 1000, 25.00, 1, 500, 0 "
+                        + "FROM generate_series(1, ?) AS n, event_category c, locations l "
+                        + "WHERE c.name = 'MUSIC' AND l.city = 'Pune'",
+                NAME_PREFIX, ROWS);
+    }
+
+    @AfterEach
+    void deleteEvents() {
+        jdbcTemplate.update("DELETE FROM events WHERE name LIKE ?", NAME_PREFIX + "%");
+    }
+
+    @Test
+    void millionRowExportKeepsHeapFlat() throws Exception {
+        long active = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE status = 1", Long.class);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+
+        HeapSamplingOutputStream output = new HeapSamplingOutputStream(memory);
+        eventService.exportEvents(output);
+
+        assertThat(output.exportedCount()).isEqualTo(active);
+        assertThat(output.samples).isGreaterThan(5);
+        assertThat(output.maxUsed - baseline)
+                .as("heap growth while exporting %d events", active)
+                .isLessThan(MAX_HEAP_GROWTH_BYTES);
+    }
+
+    /**
+     * Discards the export, keeping only its tail, and samples heap in use after a GC as it grows
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private static final Pattern COUNT = Pattern.compile("\"count\":(\\d+)}\\s*$");
+
+        private final MemoryMXBean memory;
+        private final byte[] tail = new byte[256];
+        private long written;
+        private long nextSample = SAMPLE_EVERY_BYTES;
+        private int samples;
+        private long maxUsed;
+
+        private HeapSamplingOutputStream(MemoryMXBean memory) {
+            this.memory = memory;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            int keep = Math.min(length, tail.length);
+            System.arraycopy(tail, keep, tail, 0, tail.length - keep);
+            System.arraycopy(bytes, offset + length - keep, tail, tail.length - keep, keep);
+            written += length;
+            if (written >= nextSample) {
+                nextSample += SAMPLE_EVERY_BYTES;
+                System.gc();
+                maxUsed = Math.max(maxUsed, memory.getHeapMemoryUsage().getUsed());
+                samples++;
+            }
+        }
+
+        private long exportedCount() {
+            String end = new String(tail, StandardCharsets.UTF_8).replace("\0", "");
+            Matcher matcher = COUNT.matcher(end);
+            assertThat(matcher.find()).as("export ends with its count: %s", end).isTrue();
+            return Long.parseLong(matcher.group(1));
+        }
+    }
+}
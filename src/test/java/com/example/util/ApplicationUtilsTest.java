@@ -0,0 +1,61 @@
+package com.example.util;
+
+import com.example.dto.EventsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationUtilsTest {
+
+    @Test
+    void quotedValueKeepsItsLineBreaks() {
+        String csv = "name,description,capacity\r\n"
+                + "\"Jazz Night\",\"Two sets,\r\nwith a \"\"surprise\"\" guest\nafterwards\",120\r\n"
+                + "\r\n"
+                + "Rock Show,Loud,300\n";
+
+        List<EventsDTO> events = ApplicationUtils.parseEventsCsv(csv);
+
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).getName()).isEqualTo("Jazz Night");
+        assertThat(events.get(0).getDescription()).isEqualTo("Two sets,\r\nwith a \"surprise\" guest\nafterwards");
+        assertThat(events.get(0).getCapacity()).isEqualTo(120);
+        assertThat(events.get(1).getName()).isEqualTo("Rock Show");
+        assertThat(events.get(1).getCapacity()).isEqualTo(300);
+    }
+
+    @Test
+    void errorNamesTheLineTheRecordStartsOn() {
+        String csv = "name,description,capacity\n"
+                + "A,\"spans\ntwo lines\",10\n"
+                + "B,short,lots";
+
+        assertThatThrownBy(() -> ApplicationUtils.parseEventsCsv(csv))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Line 4: invalid value for capacity");
+    }
+
+    @Test
+    void badValuesAreRecordedAgainstTheirRowAndParsingGoesOn() {
+        String csv = "name,hostedFrom,capacity\n"
+                + "Good,2031-01-01T18:00,10\n"
+                + "Bad date,next friday,10\n"
+                + "Bad number,2031-01-02T18:00,lots\n"
+                + "Also good,2031-01-03T18:00,30\n";
+        Map<Integer, String> rowErrors = new HashMap<>();
+
+        List<EventsDTO> events = ApplicationUtils.parseEventsCsv(csv, rowErrors);
+
+        assertThat(events).extracting(EventsDTO::getName)
+                .containsExactly("Good", "Bad date", "Bad number", "Also good");
+        assertThat(rowErrors).containsOnly(
+                Map.entry(1, "Line 3: invalid value for hostedFrom"),
+                Map.entry(2, "Line 4: invalid value for capacity"));
+        assertThat(events.get(3).getCapacity()).isEqualTo(30);
+    }
+}
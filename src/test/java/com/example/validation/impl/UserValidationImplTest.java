@@ -0,0 +1,54 @@
+package com.example.validation.impl;
+
+import com.example.dao.UserRepository;
+import com.example.dto.UserDTO;
+import com.example.index.UserExistenceFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class UserValidationImplTest {
+
+    // Filters that rule every value out, so nothing is looked up
+    private final UserValidationImpl validation =
+            new UserValidationImpl(mock(UserRepository.class), mock(UserExistenceFilter.class));
+
+    @Test
+    void rowRejectedForItsEmailDoesNotClaimItsUsername() {
+        List<UserDTO> users = List.of(
+                user("alice", "alice@example.com"),
+                user("bob", "alice@example.com"),
+                user("bob", "bob@example.com"));
+
+        Map<Integer, String> errors = validation.validateForBatchCreate(users);
+
+        assertThat(errors).containsOnlyKeys(1);
+        assertThat(errors.get(1)).isEqualTo("Duplicate email in batch: alice@example.com");
+    }
+
+    @Test
+    void rowRejectedForItsUsernameDoesNotClaimItsEmail() {
+        List<UserDTO> users = List.of(
+                user("alice", "alice@example.com"),
+                user("alice", "bob@example.com"),
+                user("bob", "bob@example.com"));
+
+        Map<Integer, String> errors = validation.validateForBatchCreate(users);
+
+        assertThat(errors).containsOnlyKeys(1);
+        assertThat(errors.get(1)).isEqualTo("Duplicate username in batch: alice");
+    }
+
+    private static UserDTO user(String username, String email) {
+        UserDTO user = new UserDTO();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setFirstName("Test");
+        user.setLastName("User");
+        return user;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.waitingroom;
+
+import com.example.dto.WaitingRoomDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Waiting room behaviour at on-sale scale. The simulation replays a whole
+ * on-sale on a virtual clock: 100k clients join at once, poll with their
+ * signed queue token every 2 s and, once in, book with an admission token.
+ */
+class WaitingRoomSimulationTest {
+
+    private static final int CLIENTS = 100_000;
+    private static final double RATE_PER_SECOND = 2_000;
+    private static final long BURST = 100;
+    // Someone polls every 25 ms, well within the 50 ms of admissions the bucket can bank
+    private static final long STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(25);
+    private static final int POLL_EVERY_STEPS = 80;
+
+    @Test
+    void onSaleAdmitsEveryoneInOrderAtTheConfiguredRate() {
+        long[] clock = {0};
+        TicketSigner signer = new TicketSigner("simulation-secret".getBytes(StandardCharsets.UTF_8));
+        WaitingRoom room = new WaitingRoom(1L, 42L, RATE_PER_SECOND, BURST, () -> clock[0]);
+
+        String[] tokens = new String[CLIENTS];
+        long[] lastPosition = new long[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            long sequence = room.join();
+            tokens[i] = signer.sign(new TicketSigner.Ticket(TicketSigner.Ticket.QUEUE, 1L, 42L, sequence, Long.MAX_VALUE));
+            lastPosition[i] = Long.MAX_VALUE;
+        }
+
+        int waiting = CLIENTS;
+        long step = 0;
+        for (; waiting > 0; step++) {
+            clock[0] = step * STEP_NANOS;
+            for (int i = (int) (step % POLL_EVERY_STEPS); i < CLIENTS; i += POLL_EVERY_STEPS) {
+                if (lastPosition[i] == 0) {
+                    continue;
+                }
+                TicketSigner.Ticket ticket = signer.verify(tokens[i]);
+                long position = room.position(ticket.sequence());
+                assertThat(position).as("position of client %d", i).isLessThanOrEqualTo(lastPosition[i]);
+                // Nobody behind an admitted client gets in before it
+                assertThat(position == 0).isEqualTo(ticket.sequence() <= room.getAdmitted());
+                lastPosition[i] = position;
+                if (position == 0) {
+                    String admission = signer.sign(new TicketSigner.Ticket(TicketSigner.Ticket.ADMISSION,
+                            1L, 42L, ticket.sequence(), Long.MAX_VALUE));
+                    TicketSigner.Ticket admitted = signer.verify(admission);
+                    assertThat(admitted).isNotNull();
+                    assertThat(room.use(admitted.sequence(), Long.MAX_VALUE)).isTrue();
+                    assertThat(room.use(admitted.sequence(), Long.MAX_VALUE)).isFalse();
+                    waiting--;
+                }
+            }
+            double allowed = BURST + RATE_PER_SECOND * clock[0] / 1e9;
+            assertThat((double) room.getAdmitted()).as("admitted at %d ms", clock[0] / 1_000_000)
+                    .isLessThanOrEqualTo(allowed + 1);
+        }
+
+        // The last client is in once the rate has let everyone through, give or take one poll interval
+        double drainSeconds = (CLIENTS - BURST) / RATE_PER_SECOND;
+        double elapsedSeconds = (step - 1) * STEP_NANOS / 1e9;
+        assertThat(elapsedSeconds).isBetween(drainSeconds, drainSeconds + POLL_EVERY_STEPS * STEP_NANOS / 1e9);
+        assertThat(room.getAdmitted()).isEqualTo(CLIENTS);
+        assertThat(room.getUsed()).isEqualTo(CLIENTS);
+    }
+
+    @Test
+    void admissionBooksOnce() {
+        WaitingRoomManager manager = new WaitingRoomManager(new SimpleMeterRegistry(), "test-secret", 50, 100, 7200, 600);
+        manager.open(1L, null, null);
+        WaitingRoomDTO joined = manager.join(1L);
+        String admission = joined.getAdmissionToken();
+        assertThat(admission).isNotNull();
+
+        assertThat(manager.useAdmission(1L, admission)).isTrue();
+        assertThat(manager.useAdmission(1L, admission)).isFalse();
+        // Polling again issues a new token for the same place in line, which is used up too
+        String reissued = manager.getStatus(1L, joined.getQueueToken()).getAdmissionToken();
+        assertThat(manager.useAdmission(1L, reissued)).isFalse();
+
+        // A booking that went nowhere gives the admission back
+        manager.returnAdmission(1L, admission);
+        assertThat(manager.useAdmission(1L, reissued)).isTrue();
+        assertThat(manager.useAdmission(1L, manager.join(1L).getAdmissionToken())).isTrue();
+    }
+
+    @Test
+    void usedAdmissionIsForgottenOnceNoTokenCanBeValid() {
+        WaitingRoom room = new WaitingRoom(1L, 42L, RATE_PER_SECOND, BURST, System::nanoTime);
+        long sequence = room.join();
+        assertThat(room.use(sequence, 1_000)).isTrue();
+
+        room.forgetUsed(999);
+        assertThat(room.use(sequence, 1_000)).isFalse();
+        room.forgetUsed(1_000);
+        assertThat(room.getUsed()).isZero();
+    }
+}
@@ -0,0 +1,51 @@
+-- Tables the application expects to exist (hibernate only validates them);
+-- data.sql creates the rest
+CREATE TABLE IF NOT EXISTS event_category (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS locations (
+    id BIGSERIAL PRIMARY KEY,
+    city VARCHAR(255) NOT NULL UNIQUE,
+    state VARCHAR(255) NOT NULL,
+    country VARCHAR(255) NOT NULL,
+    pincode VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS events (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    display_picture VARCHAR(512),
+    description TEXT,
+    hosted_from TIMESTAMP NOT NULL,
+    hosted_to TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    category_id BIGINT NOT NULL,
+    location_id BIGINT NOT NULL,
+    venue VARCHAR(255) NOT NULL,
+    ticket_amount NUMERIC(10, 2) NOT NULL,
+    status SMALLINT NOT NULL,
+    capacity INT NOT NULL,
+    tickets_booked INT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+INSERT INTO event_category (name) VALUES ('MUSIC'), ('SPORTS') ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO locations (city, state, country, pincode, created_at, updated_at)
+VALUES ('Pune', 'MH', 'India', '411001', now(), now())
+ON CONFLICT (city) DO NOTHING;